@@ -0,0 +1,75 @@
+package aristo.benchmark;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import aristo.exception.AristoException;
+import aristo.parser.ParsedCommand;
+import aristo.parser.Parser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing of a single line of user input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+    private String commandInput = "deadline submit report /by 2025-10-01";
+    private String deadlineDetails = "submit report /by 2025-10-01";
+    private String eventDetails = "project meeting /from 2025-10-01 /to 2025-10-03";
+    private String eventInput = "event " + eventDetails;
+    private String date = "2025-10-01";
+    private final ParsedCommand parsed = new ParsedCommand();
+
+    /**
+     * Splits a line of input into its command and arguments.
+     */
+    @Benchmark
+    public String[] parseCommand() {
+        return Parser.parseCommand(commandInput);
+    }
+
+    /**
+     * Splits the arguments of a deadline command.
+     */
+    @Benchmark
+    public String[] parseDeadline() throws AristoException {
+        return Parser.parseDeadline(deadlineDetails);
+    }
+
+    /**
+     * Splits and validates the arguments of an event command.
+     */
+    @Benchmark
+    public String[] parseEvent() throws AristoException {
+        return Parser.parseEvent(eventDetails);
+    }
+
+    /**
+     * Parses a date typed by the user.
+     */
+    @Benchmark
+    public LocalDate parseDate() throws AristoException {
+        return Parser.parseDate(date);
+    }
+
+    /**
+     * Splits a whole event command into its parts in one pass, reusing the same parsed command.
+     */
+    @Benchmark
+    public String tokenizeEvent() {
+        return parsed.parse(eventInput).getTo();
+    }
+}
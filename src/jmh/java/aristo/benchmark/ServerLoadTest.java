@@ -0,0 +1,190 @@
+package aristo.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import aristo.Aristo;
+import aristo.server.AristoClient;
+import aristo.server.AristoServer;
+import aristo.ui.Ui;
+
+/**
+ * Drives an {@link AristoServer} with many concurrent clients and reports throughput and latency
+ * percentiles for each type of command.
+ * <p>
+ * The server is started in-process over a generated data file in a temporary directory. Each client
+ * sends a random mix of commands, weighted towards queries, and waits for each response before
+ * sending the next.
+ * <p>
+ * Run it with <code>gradlew loadTestServer -Pclients=N -Prequests=N -PinitialTasks=N</code>.
+ */
+public class ServerLoadTest {
+    private static final String[] COMMAND_TYPES = {"find", "schedule", "list", "todo", "deadline", "mark"};
+    private static final int[] COMMAND_WEIGHTS = {30, 20, 5, 20, 10, 15};
+
+    private final int clientCount;
+    private final int requestsPerClient;
+    private final int initialTaskCount;
+
+    /**
+     * Constructs a load test with the given shape.
+     *
+     * @param clientCount       the number of clients sending commands at the same time
+     * @param requestsPerClient the number of commands each client sends
+     * @param initialTaskCount  the number of tasks in the data file when the server starts
+     */
+    public ServerLoadTest(int clientCount, int requestsPerClient, int initialTaskCount) {
+        this.clientCount = clientCount;
+        this.requestsPerClient = requestsPerClient;
+        this.initialTaskCount = initialTaskCount;
+    }
+
+    /**
+     * Runs the load test and prints its results.
+     *
+     * @throws Exception if the server cannot be started or a client fails
+     */
+    public void run() throws Exception {
+        Path directory = Files.createTempDirectory("aristo-load-test");
+        Path filePath = directory.resolve("aristo.txt");
+        TaskFileGenerator.writeTaskFile(filePath, initialTaskCount, 1);
+
+        try (Aristo aristo = new Aristo(filePath.toString(), new Ui(false));
+                AristoServer server = new AristoServer(aristo, 0)) {
+            server.start();
+            ExecutorService executor = Executors.newFixedThreadPool(clientCount);
+            List<Future<long[][]>> results = new ArrayList<>();
+
+            long start = System.nanoTime();
+            for (int c = 0; c < clientCount; c++) {
+                long seed = c;
+                results.add(executor.submit(() -> runClient(server.getPort(), new Random(seed))));
+            }
+
+            long[][] latencies = new long[COMMAND_TYPES.length][0];
+            for (Future<long[][]> result : results) {
+                long[][] clientLatencies = result.get();
+                for (int type = 0; type < COMMAND_TYPES.length; type++) {
+                    latencies[type] = concat(latencies[type], clientLatencies[type]);
+                }
+            }
+            long elapsedNanos = System.nanoTime() - start;
+            executor.shutdown();
+
+            printResults(latencies, elapsedNanos);
+            aristo.flush();
+            System.out.println("Storage: " + aristo.getWriteStatistics());
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * Sends this client's share of commands and returns the latency, in nanoseconds, of every
+     * command of each type.
+     */
+    private long[][] runClient(int port, Random random) throws IOException {
+        long[][] latencies = new long[COMMAND_TYPES.length][requestsPerClient];
+        int[] counts = new int[COMMAND_TYPES.length];
+
+        try (AristoClient client = new AristoClient(port)) {
+            for (int i = 0; i < requestsPerClient; i++) {
+                int type = pickCommandType(random);
+                String command = createCommand(COMMAND_TYPES[type], random);
+
+                long sent = System.nanoTime();
+                client.send(command);
+                latencies[type][counts[type]++] = System.nanoTime() - sent;
+            }
+        }
+
+        for (int type = 0; type < COMMAND_TYPES.length; type++) {
+            latencies[type] = Arrays.copyOf(latencies[type], counts[type]);
+        }
+        return latencies;
+    }
+
+    private static int pickCommandType(Random random) {
+        int roll = random.nextInt(Arrays.stream(COMMAND_WEIGHTS).sum());
+        for (int type = 0; type < COMMAND_WEIGHTS.length; type++) {
+            roll -= COMMAND_WEIGHTS[type];
+            if (roll < 0) {
+                return type;
+            }
+        }
+        return COMMAND_WEIGHTS.length - 1;
+    }
+
+    private String createCommand(String type, Random random) {
+        LocalDate date = TaskFileGenerator.FIRST_DATE.plusDays(random.nextInt(TaskFileGenerator.DATE_SPAN_DAYS));
+        return switch (type) {
+            case "find" -> "find " + random.nextInt(initialTaskCount);
+            case "schedule" -> "schedule " + date;
+            case "todo" -> "todo load test " + random.nextInt();
+            case "deadline" -> "deadline load test " + random.nextInt() + " /by " + date;
+            case "mark" -> "mark " + (1 + random.nextInt(initialTaskCount));
+            default -> type;
+        };
+    }
+
+    private void printResults(long[][] latencies, long elapsedNanos) {
+        int total = clientCount * requestsPerClient;
+        System.out.printf("%d clients, %d commands in %.2f s: %.0f commands/s%n",
+                clientCount, total, elapsedNanos / 1e9, total / (elapsedNanos / 1e9));
+        System.out.printf("%-10s %8s %10s %10s %10s%n", "command", "count", "mean (us)", "p50 (us)", "p99 (us)");
+
+        for (int type = 0; type < COMMAND_TYPES.length; type++) {
+            long[] sorted = latencies[type].clone();
+            if (sorted.length == 0) {
+                continue;
+            }
+            Arrays.sort(sorted);
+            System.out.printf("%-10s %8d %10.1f %10.1f %10.1f%n", COMMAND_TYPES[type], sorted.length,
+                    Arrays.stream(sorted).average().orElse(0) / 1e3,
+                    percentile(sorted, 0.50) / 1e3, percentile(sorted, 0.99) / 1e3);
+        }
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+
+    private static long[] concat(long[] first, long[] second) {
+        long[] joined = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+        return joined;
+    }
+
+    /**
+     * Runs a load test against an in-process server.
+     *
+     * @param args optionally the number of clients, commands per client, and initial tasks
+     * @throws Exception if the server cannot be started or a client fails
+     */
+    public static void main(String[] args) throws Exception {
+        int clientCount = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int requestsPerClient = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int initialTaskCount = args.length > 2 ? Integer.parseInt(args[2]) : 10000;
+        new ServerLoadTest(clientCount, requestsPerClient, initialTaskCount).run();
+    }
+}
@@ -0,0 +1,109 @@
+package aristo.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import aristo.storage.DurabilityPolicy;
+import aristo.storage.TaskStorage;
+import aristo.task.Task;
+import aristo.task.TaskList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures loading and saving a whole data file, in both file formats.
+ * <p>
+ * Writes are not forced to disk, so the numbers reflect encoding and copying rather than
+ * the speed of the disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageBenchmark {
+    @Param({"1000", "10000", "100000"})
+    private int taskCount;
+
+    @Param({"aristo.txt", "aristo.bin"})
+    private String fileName;
+
+    private Path directory;
+    private TaskStorage storage;
+    private TaskList taskList;
+
+    /**
+     * Writes a generated data file into a fresh temporary directory.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("aristo-benchmark");
+        Path filePath = directory.resolve(fileName);
+        TaskFileGenerator.writeTaskFile(filePath, taskCount, 1);
+
+        storage = new TaskStorage(filePath.toString(), false, DurabilityPolicy.never());
+        taskList = new TaskList(storage.loadTasksFromFile());
+    }
+
+    /**
+     * Deletes the temporary directory.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * Reads and decodes every task in the data file.
+     */
+    @Benchmark
+    public ArrayList<Task> loadTasksFromFile() {
+        return storage.loadTasksFromFile();
+    }
+
+    /**
+     * Maps the data file without decoding its tasks, as done for files above
+     * {@link TaskStorage#MAPPED_LOAD_THRESHOLD}.
+     */
+    @Benchmark
+    public TaskList loadTaskListMapped() throws IOException {
+        return storage.loadTaskListMapped();
+    }
+
+    /**
+     * Decodes every task in the data file and packs it into primitive arrays.
+     */
+    @Benchmark
+    public TaskList loadTaskListPacked() throws IOException {
+        return storage.loadTaskListPacked();
+    }
+
+    /**
+     * Encodes every task and rewrites the data file.
+     */
+    @Benchmark
+    public void saveTasksToFile() {
+        storage.saveTasksToFile(taskList);
+    }
+}
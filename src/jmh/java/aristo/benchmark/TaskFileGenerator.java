@@ -0,0 +1,116 @@
+package aristo.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Random;
+
+import aristo.exception.AristoException;
+import aristo.storage.TaskFormat;
+import aristo.task.Deadline;
+import aristo.task.Event;
+import aristo.task.Task;
+import aristo.task.Todo;
+
+/**
+ * Generates synthetic task lists and data files for benchmarks.
+ * <p>
+ * Tasks are an even mix of todos, deadlines and events with descriptions drawn from a small
+ * vocabulary plus a running number, dates spread over two years from {@link #FIRST_DATE}, and
+ * about a third of them marked as done. The same seed always gives the same tasks.
+ * <p>
+ * Run it with <code>gradlew generateTaskFile -Pfile=PATH -Pcount=N</code> to write a data file
+ * in the format matching the file extension.
+ */
+public class TaskFileGenerator {
+    /** Earliest date given to a generated deadline or event. */
+    public static final LocalDate FIRST_DATE = LocalDate.of(2025, 1, 1);
+
+    /** Number of days over which generated dates are spread. */
+    public static final int DATE_SPAN_DAYS = 730;
+
+    private static final long DEFAULT_SEED = 42;
+    private static final int MAX_EVENT_DAYS = 14;
+    private static final String[] VERBS = {
+        "read", "write", "review", "submit", "plan", "call", "fix", "clean", "buy", "prepare"
+    };
+    private static final String[] NOUNS = {
+        "report", "chapter", "slides", "groceries", "budget", "essay", "meeting", "code", "tutorial", "trip"
+    };
+
+    /**
+     * Returns the given number of generated tasks.
+     *
+     * @param count the number of tasks to generate
+     * @param seed  the seed of the random generator
+     * @return the generated tasks
+     */
+    public static ArrayList<Task> generateTasks(int count, long seed) {
+        Random random = new Random(seed);
+        ArrayList<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String description = VERBS[random.nextInt(VERBS.length)] + " "
+                    + NOUNS[random.nextInt(NOUNS.length)] + " " + i;
+            LocalDate date = FIRST_DATE.plusDays(random.nextInt(DATE_SPAN_DAYS));
+
+            Task task = switch (i % 3) {
+                case 0 -> new Todo(description);
+                case 1 -> new Deadline(description, date);
+                default -> createEvent(description, date, date.plusDays(random.nextInt(MAX_EVENT_DAYS)));
+            };
+
+            if (random.nextInt(3) == 0) {
+                task.markAsDone();
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private static Event createEvent(String description, LocalDate from, LocalDate to) {
+        try {
+            return new Event(description, from, to);
+        } catch (AristoException e) {
+            throw new IllegalStateException("Generated event ends before it starts", e);
+        }
+    }
+
+    /**
+     * Writes a data file of generated tasks, in the format matching its file extension.
+     *
+     * @param filePath the file to write
+     * @param count    the number of tasks to generate
+     * @param seed     the seed of the random generator
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeTaskFile(Path filePath, int count, long seed) throws IOException {
+        byte[] contents = TaskFormat.forFile(filePath).encode(generateTasks(count, seed), 0);
+        Path parent = filePath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.write(filePath, contents);
+    }
+
+    /**
+     * Writes a data file of generated tasks.
+     *
+     * @param args the file to write, the number of tasks, and optionally the seed
+     * @throws IOException if the file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: TaskFileGenerator FILE COUNT [SEED]");
+            return;
+        }
+
+        Path filePath = Paths.get(args[0]);
+        int count = Integer.parseInt(args[1]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        writeTaskFile(filePath, count, seed);
+        System.out.println("Wrote " + count + " tasks to " + filePath);
+    }
+}
@@ -0,0 +1,89 @@
+package aristo.benchmark;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import aristo.exception.AristoException;
+import aristo.task.TaskList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the queries behind the <code>find</code> and <code>schedule</code> commands.
+ * <p>
+ * The indexes behind these queries are built on first use, which happens during warmup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskListBenchmark {
+    @Param({"1000", "10000", "100000"})
+    private int taskCount;
+
+    private TaskList taskList;
+    private String rareKeyword;
+    private LocalDate date;
+
+    /**
+     * Builds a generated task list and picks query arguments from it.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws AristoException {
+        taskList = new TaskList(TaskFileGenerator.generateTasks(taskCount, 1));
+        rareKeyword = taskList.getTask(taskCount / 2).getDescription();
+        date = TaskFileGenerator.FIRST_DATE.plusDays(TaskFileGenerator.DATE_SPAN_DAYS / 2);
+    }
+
+    /**
+     * Finds a keyword that about a tenth of the tasks contain.
+     */
+    @Benchmark
+    public TaskList findCommonKeyword() throws AristoException {
+        return taskList.find("report");
+    }
+
+    /**
+     * Finds a keyword that only one task contains.
+     */
+    @Benchmark
+    public TaskList findRareKeyword() throws AristoException {
+        return taskList.find(rareKeyword);
+    }
+
+    /**
+     * Finds a keyword too short to be looked up in the keyword index.
+     */
+    @Benchmark
+    public TaskList findShortKeyword() throws AristoException {
+        return taskList.find("99");
+    }
+
+    /**
+     * Lists the deadlines and events on a single day.
+     */
+    @Benchmark
+    public TaskList getTasksOn() throws AristoException {
+        return taskList.getTasksOn(date);
+    }
+
+    /**
+     * Lists the deadlines and events during a week.
+     */
+    @Benchmark
+    public TaskList getTasksBetween() throws AristoException {
+        return taskList.getTasksBetween(date, date.plusDays(6));
+    }
+}
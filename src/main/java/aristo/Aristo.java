@@ -1,25 +1,56 @@
 package aristo;
 
+import java.util.concurrent.locks.ReentrantLock;
+
 import aristo.command.Command;
-import aristo.command.CommandConstructor;
+import aristo.command.CommandContext;
+import aristo.command.CommandRegistry;
 import aristo.exception.AristoException;
 import aristo.parser.Parser;
 import aristo.storage.TaskStorage;
-import aristo.task.TaskList;
 import aristo.ui.Ui;
 
 /**
  * Represents the main chatbot application, Aristo, which manages the task list.
+ * <p>
+ * Responses can be requested from several threads at once. Commands that only read the task
+ * list work on a snapshot of it and never wait, while commands that change it run one at a
+ * time, so that each change and its journal record are kept in the same order.
+ * <p>
+ * There is a single task list, so a transaction opened with <code>begin</code> is shared by
+ * everyone using this instance until it is committed or rolled back, and while it is open the
+ * data file is not reloaded even if it changes on disk. Transactions are therefore turned off
+ * once the instance is shared with server clients through {@link #enableServerMode()}.
  */
-public class Aristo {
-    private TaskList taskList;
+public class Aristo implements AutoCloseable {
+    /** Path of the data file used when none is given. */
+    public static final String DEFAULT_FILE_PATH = "./data/aristo.txt";
+
+    /** Message shown on exit when some changes could not be written. */
+    public static final String UNSAVED_CHANGES_MESSAGE =
+            "Some changes could not be saved to the data file! They will be lost when Aristo exits.";
+
+    private volatile CommandContext context;
     private final Ui ui;
     private final TaskStorage storage;
+    private final CommandRegistry commands = CommandRegistry.getDefault();
+    private final ReentrantLock changeLock = new ReentrantLock();
 
     public Aristo() {
-        this.ui = new Ui();
-        this.storage = new TaskStorage("./data/aristo.txt");
-        this.taskList = new TaskList(storage.loadTasksFromFile());
+        this(DEFAULT_FILE_PATH, new Ui());
+    }
+
+    /**
+     * Constructs an Aristo instance that keeps its tasks in the given file.
+     *
+     * @param filePath the path to the data file
+     * @param ui       the user interface that formats responses
+     */
+    public Aristo(String filePath, Ui ui) {
+        this.ui = ui;
+        this.storage = new TaskStorage(filePath);
+        this.context = new CommandContext(storage.loadTaskList(), storage, ui);
+        storage.startBackgroundWriter();
     }
 
     /**
@@ -38,7 +69,8 @@ public class Aristo {
             userInput = aristo.ui.fetchNextCommand();
         }
 
-        aristo.ui.exit();
+        aristo.exit();
+        aristo.close();
     }
 
     public String getResponse(String input) {
@@ -47,24 +79,90 @@ public class Aristo {
         }
 
         if (input.equals("bye")) {
-            return ui.exit();
+            return exit();
         }
 
-        this.taskList = new TaskList(storage.loadTasksFromFile());
+        reloadIfChangedExternally();
 
         try {
-            String[] parsed = Parser.parseCommand(input);
-            assert parsed.length == 2 : "Parsed command does not contain 2 components";
-
-            String command = parsed[0];
-            String argument = parsed[1];
+            int nameLength = Parser.findCommandNameEnd(input);
+            Command command = commands.get(input, nameLength);
+            String argument = Parser.getArgument(input, nameLength);
 
-            CommandConstructor commandMaker = new CommandConstructor(taskList, storage, ui);
-            Command userCommand = commandMaker.createCommand(command);
-            return userCommand.execute(argument);
+            if (command.isReadOnly()) {
+                return command.execute(context, argument);
+            }
 
+            changeLock.lock();
+            try {
+                return command.execute(context, argument);
+            } finally {
+                changeLock.unlock();
+            }
         } catch (AristoException e) {
             return ui.showError(e.getMessage());
         }
     }
+
+    /**
+     * Shares this instance with the clients of a server, turning off the commands that are only
+     * meant for a single local user. This should be called before the first client connects.
+     */
+    public void enableServerMode() {
+        changeLock.lock();
+        try {
+            CommandContext current = context;
+            this.context = new CommandContext(current.getTaskList(), storage, ui, true);
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    /**
+     * Waits until every change made so far has been written to the data file or its journal.
+     * Changes are written in the background, so this should be called before exiting.
+     *
+     * @return false if some changes could not be written and are only kept in memory
+     */
+    public boolean flush() {
+        return storage.flush();
+    }
+
+    /**
+     * Writes the remaining changes and stops the background writer and its shutdown hook.
+     * Changes made after this are written directly, before each command returns.
+     */
+    @Override
+    public void close() {
+        storage.close();
+    }
+
+    private String exit() {
+        if (flush()) {
+            return ui.exit();
+        }
+        return ui.showError(UNSAVED_CHANGES_MESSAGE) + ui.exit();
+    }
+
+    /**
+     * Returns a summary of the writes made in the background so far.
+     */
+    public String getWriteStatistics() {
+        return storage.getWriteStatistics();
+    }
+
+    private void reloadIfChangedExternally() {
+        if (context.getTaskList().isInTransaction() || !storage.hasChangedExternally()) {
+            return;
+        }
+
+        changeLock.lock();
+        try {
+            if (storage.hasChangedExternally()) {
+                this.context = new CommandContext(storage.loadTaskList(), storage, ui, context.isShared());
+            }
+        } finally {
+            changeLock.unlock();
+        }
+    }
 }
@@ -0,0 +1,70 @@
+package aristo;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * Represents the most recent messages of the conversation, up to a fixed number of them.
+ * <p>
+ * The conversation is shown in a <code>ListView</code>, which only creates nodes for the
+ * messages in view, so the number of nodes stays the same however long a session lasts.
+ * Dropping the oldest messages once the limit is reached keeps the memory held by the
+ * conversation bounded as well.
+ * <p>
+ * Like the <code>ListView</code> showing it, a history must only be used on the JavaFX
+ * application thread.
+ */
+public class ChatHistory {
+    /** Number of messages kept when no other limit is given. */
+    public static final int MAX_MESSAGES = 500;
+
+    private final ObservableList<ChatMessage> messages = FXCollections.observableArrayList();
+    private final int capacity;
+
+    public ChatHistory() {
+        this(MAX_MESSAGES);
+    }
+
+    /**
+     * Constructs an empty history that keeps at most the given number of messages.
+     *
+     * @param capacity the number of messages to keep
+     */
+    public ChatHistory(int capacity) {
+        assert capacity > 0 : "History must be able to hold a message";
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the messages in the order they were sent, for a <code>ListView</code> to show.
+     */
+    public ObservableList<ChatMessage> getMessages() {
+        return messages;
+    }
+
+    /**
+     * Adds the given messages after the existing ones, dropping the oldest messages if the
+     * history would otherwise hold more than its capacity.
+     */
+    public void add(ChatMessage... newMessages) {
+        int excess = messages.size() + newMessages.length - capacity;
+        if (excess > 0) {
+            messages.remove(0, Math.min(excess, messages.size()));
+        }
+        messages.addAll(newMessages);
+    }
+
+    /**
+     * Replaces the given message with another one in the same place, or adds the other one after
+     * the existing messages if the given one has already been dropped.
+     */
+    public void replace(ChatMessage oldMessage, ChatMessage newMessage) {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            if (messages.get(i) == oldMessage) {
+                messages.set(i, newMessage);
+                return;
+            }
+        }
+        add(newMessage);
+    }
+}
@@ -0,0 +1,28 @@
+package aristo;
+
+/**
+ * Represents one message of the conversation shown in the main window.
+ */
+public class ChatMessage {
+    private final String text;
+    private final boolean isFromAristo;
+
+    /**
+     * Constructs a message with the given text.
+     *
+     * @param text         the text of the message
+     * @param isFromAristo whether Aristo sent the message, rather than the user
+     */
+    public ChatMessage(String text, boolean isFromAristo) {
+        this.text = text;
+        this.isFromAristo = isFromAristo;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isFromAristo() {
+        return isFromAristo;
+    }
+}
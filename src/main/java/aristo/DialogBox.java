@@ -1,40 +1,54 @@
 package aristo;
 
-import java.io.IOException;
-import java.util.Collections;
-
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 
 /**
  * Represents a dialog box consisting of an ImageView to represent the speaker's face
  * and a label containing text from the speaker.
+ * <p>
+ * A dialog box can be given another message at any time, so that the cells of the
+ * conversation list can reuse theirs as they scroll.
+ * <p>
+ * The layout is built in code rather than loaded from FXML, since loading FXML parses the
+ * file and sets every property through reflection each time a dialog box is created.
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-    @FXML
-    private ImageView displayPicture;
+    private static final String REPLY_STYLE_CLASS = "reply-label";
+    private static final String STYLESHEET = DialogBox.class.getResource("/css/dialog-box.css").toExternalForm();
+    private static final double PICTURE_SIZE = 99.0;
 
-    private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    private final Label dialog = new Label();
+    private final ImageView displayPicture = new ImageView();
 
-        dialog.setText(text);
+    /**
+     * Constructs an empty dialog box laid out for a message from the user.
+     */
+    DialogBox() {
+        getStylesheets().add(STYLESHEET);
+        setAlignment(Pos.TOP_RIGHT);
+        setMaxHeight(Double.MAX_VALUE);
+        setMaxWidth(Double.MAX_VALUE);
+        setPrefWidth(400.0);
+        setPadding(new Insets(15.0, 5.0, 15.0, 5.0));
+
+        dialog.setId("dialog");
+        dialog.setMinHeight(Region.USE_PREF_SIZE);
+        dialog.setPadding(new Insets(6.0, 5.0, 6.0, 5.0));
+        HBox.setMargin(dialog, new Insets(0.0, 7.0, 0.0, 7.0));
+
+        displayPicture.setId("displayPicture");
+        displayPicture.setFitHeight(PICTURE_SIZE);
+        displayPicture.setFitWidth(PICTURE_SIZE);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
+
+        getChildren().setAll(dialog, displayPicture);
         dialog.setWrapText(true);
         dialog.maxWidthProperty().bind(
                 this.widthProperty().multiply(0.75)
@@ -43,28 +57,40 @@ public class DialogBox extends HBox {
                 this.widthProperty().multiply(0.4)
         );
         dialog.setAlignment(Pos.CENTER);
-        displayPicture.setImage(img);
     }
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     * Shows the given message, laid out with the picture on the right for the user's messages
+     * and on the left for Aristo's replies.
+     *
+     * @param text    the text of the message
+     * @param img     the picture of the speaker
+     * @param isReply whether the message is a reply from Aristo
      */
-    private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
-        dialog.getStyleClass().add("reply-label");
+    void showMessage(String text, Image img, boolean isReply) {
+        dialog.setText(text);
+        displayPicture.setImage(img);
+
+        if (isReply && getChildren().get(0) != displayPicture) {
+            getChildren().setAll(displayPicture, dialog);
+            setAlignment(Pos.TOP_LEFT);
+            dialog.getStyleClass().add(REPLY_STYLE_CLASS);
+        } else if (!isReply && getChildren().get(0) != dialog) {
+            getChildren().setAll(dialog, displayPicture);
+            setAlignment(Pos.TOP_RIGHT);
+            dialog.getStyleClass().remove(REPLY_STYLE_CLASS);
+        }
     }
 
     public static DialogBox getUserDialog(String text, Image img) {
-        return new DialogBox(text, img);
+        DialogBox db = new DialogBox();
+        db.showMessage(text, img, false);
+        return db;
     }
 
     public static DialogBox getAristoDialog(String text, Image img) {
-        var db = new DialogBox(text, img);
-        db.flip();
+        DialogBox db = new DialogBox();
+        db.showMessage(text, img, true);
         return db;
     }
 }
-
@@ -1,12 +1,37 @@
 package aristo;
 
+import java.io.IOException;
+import java.util.Arrays;
+
+import aristo.server.AristoServer;
+import aristo.ui.Ui;
 import javafx.application.Application;
 
 /**
  * A launcher class to workaround classpath issues.
+ * <p>
+ * Starting it with <code>--server [PORT] [FILE]</code> runs Aristo headless as an {@link AristoServer}
+ * instead of opening the GUI, and <code>--batch COMMAND_FILE [FILE]</code> runs the commands in
+ * the given file as a single batch and exits.
  */
 public class Launcher {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("--server")) {
+            AristoServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
+        if (args.length > 1 && args[0].equals("--batch")) {
+            String filePath = args.length > 2 ? args[2] : Aristo.DEFAULT_FILE_PATH;
+            Aristo aristo = new Aristo(filePath, new Ui());
+            aristo.getResponse("batch " + args[1]);
+            if (!aristo.flush()) {
+                System.out.println(Aristo.UNSAVED_CHANGES_MESSAGE);
+            }
+            aristo.close();
+            return;
+        }
+
         Application.launch(aristo.Main.class, args);
     }
 }
@@ -37,4 +37,9 @@ public class Main extends Application {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public void stop() {
+        aristo.close();
+    }
 }
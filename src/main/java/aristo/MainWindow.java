@@ -1,35 +1,58 @@
 package aristo;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
 /**
  * Controller for the main GUI.
+ * <p>
+ * The conversation is kept in a {@link ChatHistory} and shown in a <code>ListView</code>, which
+ * only creates dialog boxes for the messages in view and reuses them while scrolling, so long
+ * sessions do not slow down layout.
+ * <p>
+ * Commands run on a single background thread, so the window stays responsive while a command
+ * loads or saves a large data file. Until its reply arrives, each command is answered by a
+ * placeholder that the reply then replaces, which also shows that the command is still running.
+ * Commands run one at a time in the order they were entered, so replies arrive in that order too.
  */
 public class MainWindow extends AnchorPane {
+    private static final String PENDING_REPLY_TEXT = "...";
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<ChatMessage> dialogList;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
 
     private Aristo aristo;
+    private final ChatHistory history = new ChatHistory();
+    private final ExecutorService commandExecutor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "aristo-commands");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/User.png"));
     private Image aristoImage = new Image(this.getClass().getResourceAsStream("/images/Aristo.jpg"));
 
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        dialogList.setItems(history.getMessages());
+        dialogList.setCellFactory(list -> new MessageCell(userImage, aristoImage));
+        dialogList.setFocusTraversable(false);
     }
 
     /** Injects the Duke instance */
@@ -38,29 +61,43 @@ public class MainWindow extends AnchorPane {
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Duke's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Adds the user input to the conversation, followed by a placeholder for Duke's reply, and
+     * runs the command in the background. Clears the user input straight away.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = aristo.getResponse(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getAristoDialog(response, aristoImage)
-        );
         userInput.clear();
+        ChatMessage pendingReply = new ChatMessage(PENDING_REPLY_TEXT, true);
+        history.add(new ChatMessage(input, false), pendingReply);
+        scrollToLatestMessage();
+
+        CompletableFuture.supplyAsync(() -> aristo.getResponse(input), commandExecutor)
+                .exceptionally(e -> "Something went wrong! " + e.getMessage())
+                .thenAccept(response -> Platform.runLater(() -> showReply(input, pendingReply, response)));
+    }
+
+    /**
+     * Replaces the placeholder for a reply with the reply itself, and closes the window if the
+     * command was <code>bye</code>.
+     */
+    private void showReply(String input, ChatMessage pendingReply, String response) {
+        history.replace(pendingReply, new ChatMessage(response, true));
+        scrollToLatestMessage();
 
         if (input.equals("bye")) {
-            javafx.animation.PauseTransition pause = new javafx.animation.PauseTransition(javafx.util.Duration.millis(500));
-            pause.setOnFinished(event -> ((Stage) scrollPane.getScene().getWindow()).close());
+            PauseTransition pause = new PauseTransition(Duration.millis(500));
+            pause.setOnFinished(event -> ((Stage) dialogList.getScene().getWindow()).close());
             pause.play();
         }
     }
 
     public void displayGreeting(String greeting) {
-        dialogContainer.getChildren().add(
-                DialogBox.getAristoDialog(greeting, aristoImage)
-        );
+        history.add(new ChatMessage(greeting, true));
+        scrollToLatestMessage();
+    }
+
+    private void scrollToLatestMessage() {
+        dialogList.scrollTo(history.getMessages().size() - 1);
     }
 }
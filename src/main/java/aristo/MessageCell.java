@@ -0,0 +1,47 @@
+package aristo;
+
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.ListCell;
+import javafx.scene.image.Image;
+
+/**
+ * Represents a row of the conversation list, showing one message in a {@link DialogBox}.
+ * <p>
+ * The <code>ListView</code> only creates as many cells as fit in view and reuses them as the
+ * conversation scrolls, so each cell keeps a single dialog box and only changes what it shows.
+ */
+class MessageCell extends ListCell<ChatMessage> {
+    private final DialogBox dialogBox = new DialogBox();
+    private final Image userImage;
+    private final Image aristoImage;
+
+    /**
+     * Constructs a cell that shows messages next to the picture of whoever sent them.
+     *
+     * @param userImage   the picture shown next to messages from the user
+     * @param aristoImage the picture shown next to messages from Aristo
+     */
+    MessageCell(Image userImage, Image aristoImage) {
+        this.userImage = userImage;
+        this.aristoImage = aristoImage;
+
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        setPrefWidth(0);
+        dialogBox.prefWidthProperty().bind(widthProperty());
+    }
+
+    @Override
+    protected void updateItem(ChatMessage message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        setText(null);
+
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+
+        Image image = message.isFromAristo() ? aristoImage : userImage;
+        dialogBox.showMessage(message.getText(), image, message.isFromAristo());
+        setGraphic(dialogBox);
+    }
+}
@@ -0,0 +1,100 @@
+package aristo.command;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import aristo.exception.AristoException;
+import aristo.parser.Parser;
+import aristo.storage.TaskStorage;
+import aristo.task.TaskList;
+import aristo.ui.Ui;
+
+/**
+ * Command to run every command in a file, one per line, as a single batch.
+ * <p>
+ * The commands run one after another against the task list in memory, and the task list is
+ * saved once after the last of them instead of once per command. Their own responses are not
+ * shown, only a summary of how many ran, which of them failed and how fast they ran.
+ * <p>
+ * Blank lines are skipped, and a <code>bye</code> line ends the batch early. A batch cannot run
+ * another batch or start or end a transaction, but it can run inside a transaction, in which case
+ * its changes are only written when the transaction is committed.
+ * <p>
+ * Batches are turned off while the task list is shared with server clients, since a client could
+ * otherwise have any file this process can read opened on its behalf.
+ */
+public class BatchCommand extends Command {
+    private static final String COMMAND_BYE = "bye";
+
+    @Override
+    public String execute(CommandContext context, String argument) throws AristoException {
+        TaskList taskList = context.getTaskList();
+        TaskStorage storage = context.getStorage();
+
+        if (context.isShared()) {
+            throw new AristoException("Batch files cannot be run by server clients!\n");
+        }
+        if (argument.isBlank()) {
+            throw new AristoException("Please specify a file of commands to run!\n");
+        }
+
+        Path batchPath;
+        try {
+            batchPath = Path.of(argument.trim());
+        } catch (InvalidPathException e) {
+            throw new AristoException("'" + argument.trim() + "' is not a valid file path!");
+        }
+
+        CommandContext batchContext = context.withUi(new Ui(false));
+        List<String> failures = new ArrayList<>();
+        int commandCount = 0;
+        long start = System.nanoTime();
+
+        storage.deferWrites();
+        try (BufferedReader reader = Files.newBufferedReader(batchPath, StandardCharsets.UTF_8)) {
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (line.equals(COMMAND_BYE)) {
+                    break;
+                }
+
+                commandCount++;
+                try {
+                    runCommand(batchContext, line);
+                } catch (AristoException e) {
+                    failures.add("Line " + lineNumber + ": " + e.getMessage().strip());
+                }
+            }
+        } catch (IOException e) {
+            failures.add("Stopped reading the file early! " + e.getMessage());
+        } finally {
+            storage.writeDeferred(taskList);
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        return context.getUi().showBatchSummary(batchPath.toString(), commandCount, failures, elapsedNanos);
+    }
+
+    private static void runCommand(CommandContext batchContext, String line) throws AristoException {
+        int nameLength = Parser.findCommandNameEnd(line);
+        Command command = CommandRegistry.getDefault().get(line, nameLength);
+        if (command instanceof BatchCommand) {
+            throw new AristoException("A batch cannot run another batch!");
+        }
+        if (command instanceof BeginCommand || command instanceof CommitCommand || command instanceof RollbackCommand) {
+            throw new AristoException("A batch cannot start or end a transaction!");
+        }
+        command.execute(batchContext, Parser.getArgument(line, nameLength));
+    }
+}
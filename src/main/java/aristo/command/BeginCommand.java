@@ -0,0 +1,38 @@
+package aristo.command;
+
+import aristo.exception.AristoException;
+import aristo.storage.TaskStorage;
+import aristo.task.TaskList;
+import aristo.ui.Ui;
+
+/**
+ * Command to start a transaction, so that the changes made until it is committed or rolled back are written
+ * together, or not at all.
+ * <p>
+ * Transactions are turned off while the task list is shared with server clients, since one client's
+ * transaction would take in every other client's changes and could be left open when it disconnects.
+ */
+public class BeginCommand extends Command {
+    @Override
+    public String execute(CommandContext context, String argument) throws AristoException {
+        TaskList taskList = context.getTaskList();
+        TaskStorage storage = context.getStorage();
+        Ui ui = context.getUi();
+
+        if (context.isShared()) {
+            throw new AristoException("Transactions are not available while the task list is shared with "
+                    + "server clients!\n");
+        }
+
+        // Queued snapshots are encoded from the live tasks when they are written, so they must be
+        // written before the transaction changes any task, or they could save uncommitted changes.
+        if (!storage.flush()) {
+            throw new AristoException("Earlier changes could not be saved yet, so a transaction cannot be "
+                    + "started! Please try again.\n");
+        }
+
+        taskList.beginTransaction();
+        storage.deferWrites();
+        return ui.showTransactionBegun();
+    }
+}
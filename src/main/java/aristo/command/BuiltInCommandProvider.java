@@ -0,0 +1,28 @@
+package aristo.command;
+
+/**
+ * Provides the commands that come with Aristo.
+ * <p>
+ * The commands are registered by class name, so that a command class is only loaded when the
+ * command is first used. Every name registered here is checked to resolve by the tests.
+ */
+public class BuiltInCommandProvider implements CommandProvider {
+    private static final String PACKAGE = "aristo.command.";
+
+    @Override
+    public void registerCommands(CommandRegistry.Builder builder) {
+        builder.registerClass("list", PACKAGE + "ListCommand", "ls")
+                .registerClass("mark", PACKAGE + "MarkCommand")
+                .registerClass("unmark", PACKAGE + "UnmarkCommand")
+                .registerClass("delete", PACKAGE + "DeleteCommand", "rm")
+                .registerClass("todo", PACKAGE + "TodoCommand")
+                .registerClass("deadline", PACKAGE + "DeadlineCommand")
+                .registerClass("event", PACKAGE + "EventCommand")
+                .registerClass("find", PACKAGE + "FindCommand")
+                .registerClass("schedule", PACKAGE + "ScheduleCommand")
+                .registerClass("batch", PACKAGE + "BatchCommand")
+                .registerClass("begin", PACKAGE + "BeginCommand")
+                .registerClass("commit", PACKAGE + "CommitCommand")
+                .registerClass("rollback", PACKAGE + "RollbackCommand");
+    }
+}
@@ -1,33 +1,30 @@
 package aristo.command;
 
 import aristo.exception.AristoException;
-import aristo.storage.TaskStorage;
-import aristo.task.TaskList;
 
 /**
  * Abstract class to represent a user command.
+ * <p>
+ * Commands keep no state of their own. Everything a command works on is passed in through a
+ * {@link CommandContext} each time it runs, so a single instance of each command can be shared
+ * by every request.
  */
 public abstract class Command {
-    protected TaskList taskList;
-    protected TaskStorage storage;
-
-    /**
-     * Constructor for Command.
-     *
-     * @param taskList The task list to operate on.
-     * @param storage  The storage for persisting tasks.
-     */
-    public Command(TaskList taskList, TaskStorage storage) {
-        this.taskList = taskList;
-        this.storage = storage;
-    }
-
     /**
      * Executes the command with the given argument.
      *
+     * @param context  The task list, storage and user interface to work with.
      * @param argument The argument passed to the command.
      * @return A response message indicating the result of the command execution.
      * @throws AristoException If an error occurs during command execution.
      */
-    public abstract String execute(String argument) throws AristoException;
+    public abstract String execute(CommandContext context, String argument) throws AristoException;
+
+    /**
+     * Returns whether this command only reads the task list, so that it can run at the same
+     * time as any other command.
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
 }
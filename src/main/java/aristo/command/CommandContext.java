@@ -0,0 +1,73 @@
+package aristo.command;
+
+import aristo.storage.TaskStorage;
+import aristo.task.TaskList;
+import aristo.ui.Ui;
+
+/**
+ * Represents what commands work on: the task list, the storage that persists it and the
+ * user interface that formats responses, along with whether the task list is shared with the
+ * clients of a server.
+ * <p>
+ * A context only changes when the task list is replaced, so it is created then rather than
+ * for every command.
+ */
+public class CommandContext {
+    private final TaskList taskList;
+    private final TaskStorage storage;
+    private final Ui ui;
+    private final boolean isShared;
+
+    /**
+     * Constructs a context for commands to run in for a single local user.
+     *
+     * @param taskList The task list to operate on.
+     * @param storage  The storage for persisting tasks.
+     * @param ui       The UI object for displaying messages.
+     */
+    public CommandContext(TaskList taskList, TaskStorage storage, Ui ui) {
+        this(taskList, storage, ui, false);
+    }
+
+    /**
+     * Constructs a context for commands to run in.
+     *
+     * @param taskList The task list to operate on.
+     * @param storage  The storage for persisting tasks.
+     * @param ui       The UI object for displaying messages.
+     * @param isShared Whether the task list is shared with the clients of a server.
+     */
+    public CommandContext(TaskList taskList, TaskStorage storage, Ui ui, boolean isShared) {
+        this.taskList = taskList;
+        this.storage = storage;
+        this.ui = ui;
+        this.isShared = isShared;
+    }
+
+    public TaskList getTaskList() {
+        return taskList;
+    }
+
+    public TaskStorage getStorage() {
+        return storage;
+    }
+
+    public Ui getUi() {
+        return ui;
+    }
+
+    /**
+     * Returns whether the task list is shared with the clients of a server, in which case commands
+     * meant for a single local user are turned off.
+     */
+    public boolean isShared() {
+        return isShared;
+    }
+
+    /**
+     * Returns a context with the same task list and storage that displays messages through the given UI.
+     */
+    public CommandContext withUi(Ui otherUi) {
+        return new CommandContext(taskList, storage, otherUi, isShared);
+    }
+}
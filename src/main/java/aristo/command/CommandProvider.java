@@ -0,0 +1,18 @@
+package aristo.command;
+
+/**
+ * Supplies commands to a {@link CommandRegistry}.
+ * <p>
+ * Providers are found with {@link java.util.ServiceLoader}, so a jar on the class path can add
+ * commands by naming its provider in <code>META-INF/services/aristo.command.CommandProvider</code>.
+ * A provider only names its commands and says how to create them; each command is created the
+ * first time it is used.
+ */
+public interface CommandProvider {
+    /**
+     * Registers the commands of this provider with the given builder.
+     *
+     * @param builder The builder of the registry being loaded.
+     */
+    void registerCommands(CommandRegistry.Builder builder);
+}
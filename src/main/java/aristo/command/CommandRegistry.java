@@ -0,0 +1,277 @@
+package aristo.command;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+import aristo.exception.AristoException;
+
+/**
+ * Represents the commands Aristo understands, looked up by name.
+ * <p>
+ * Commands are registered by {@link CommandProvider}s, each under a name and any number of
+ * aliases. A command can also be typed as any prefix of its name or an alias that is at least
+ * {@value #MIN_PREFIX_LENGTH} characters long and that no other command shares, so
+ * <code>dead</code> runs <code>deadline</code> while <code>c</code> is not taken to mean
+ * <code>commit</code>.
+ * <p>
+ * Every name, alias and prefix is resolved to its command once, when the registry is built, and
+ * kept in a trie. Looking up a command reads one trie transition per character typed, however many
+ * commands there are, and allocates nothing. Commands keep no state, so each is created the first
+ * time it is looked up and shared from then on.
+ */
+public class CommandRegistry {
+    private static final CommandRegistry DEFAULT = load();
+
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final int NONE = -1;
+    private static final int AMBIGUOUS = -2;
+
+    private final List<String> names;
+    private final List<Supplier<Command>> factories;
+    private final AtomicReferenceArray<Command> commands;
+    private final Map<String, Integer> keys;
+    private final int[] charClasses;
+    private final int classCount;
+    private final int[] transitions;
+    private final int[] resolved;
+
+    private CommandRegistry(Builder builder) {
+        names = List.copyOf(builder.names);
+        factories = List.copyOf(builder.factories);
+        commands = new AtomicReferenceArray<>(names.size());
+        keys = Map.copyOf(builder.keys);
+
+        List<StringBuilder> chars = new ArrayList<>();
+        List<List<Integer>> children = new ArrayList<>();
+        List<Integer> candidates = new ArrayList<>();
+        List<Integer> exact = new ArrayList<>();
+        addNode(chars, children, candidates, exact);
+
+        for (Map.Entry<String, Integer> key : builder.keys.entrySet()) {
+            int entry = key.getValue();
+            String name = key.getKey();
+            int node = 0;
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                int next = chars.get(node).indexOf(String.valueOf(c));
+                if (next < 0) {
+                    chars.get(node).append(c);
+                    children.get(node).add(chars.size());
+                    node = addNode(chars, children, candidates, exact);
+                } else {
+                    node = children.get(node).get(next);
+                }
+
+                if (i + 1 >= MIN_PREFIX_LENGTH) {
+                    int candidate = candidates.get(node);
+                    candidates.set(node, candidate == NONE || candidate == entry ? entry : AMBIGUOUS);
+                }
+            }
+            exact.set(node, entry);
+        }
+
+        // Each character used in a name gets a class from 1 upwards, and class 0 stands for every
+        // other character, so the children of all nodes fit in one table with a row per node.
+        int maxChar = 0;
+        for (String key : builder.keys.keySet()) {
+            for (char c : key.toCharArray()) {
+                maxChar = Math.max(maxChar, c);
+            }
+        }
+        charClasses = new int[maxChar + 1];
+        int nextClass = 1;
+        for (String key : builder.keys.keySet()) {
+            for (char c : key.toCharArray()) {
+                if (charClasses[c] == 0) {
+                    charClasses[c] = nextClass++;
+                }
+            }
+        }
+        classCount = nextClass;
+
+        int nodeCount = chars.size();
+        transitions = new int[nodeCount * classCount];
+        Arrays.fill(transitions, NONE);
+        resolved = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            StringBuilder nodeChars = chars.get(node);
+            for (int i = 0; i < nodeChars.length(); i++) {
+                transitions[node * classCount + charClasses[nodeChars.charAt(i)]] = children.get(node).get(i);
+            }
+            resolved[node] = exact.get(node) != NONE ? exact.get(node) : candidates.get(node);
+        }
+    }
+
+    private static int addNode(List<StringBuilder> chars, List<List<Integer>> children,
+            List<Integer> candidates, List<Integer> exact) {
+        chars.add(new StringBuilder());
+        children.add(new ArrayList<>());
+        candidates.add(NONE);
+        exact.add(NONE);
+        return chars.size() - 1;
+    }
+
+    /**
+     * Returns the registry of every command supplied by the {@link CommandProvider}s on the class path.
+     */
+    public static CommandRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    private static CommandRegistry load() {
+        Builder builder = new Builder();
+        for (CommandProvider provider : ServiceLoader.load(CommandProvider.class,
+                CommandRegistry.class.getClassLoader())) {
+            provider.registerCommands(builder);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns a builder for a registry of commands registered by hand.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the command named by the first characters of the given input.
+     *
+     * @param input      The input starting with a command name.
+     * @param nameLength The number of characters in the command name.
+     * @return The command with that name, alias or unique prefix.
+     * @throws AristoException If the name is empty, matches no command or could be more than one.
+     */
+    public Command get(String input, int nameLength) throws AristoException {
+        if (nameLength == 0) {
+            throw new AristoException("You got to type a command...");
+        }
+
+        int node = 0;
+        for (int i = 0; i < nameLength && node != NONE; i++) {
+            char c = input.charAt(i);
+            int charClass = c < charClasses.length ? charClasses[c] : 0;
+            node = transitions[node * classCount + charClass];
+        }
+
+        int entry = node == NONE ? NONE : resolved[node];
+        if (entry == AMBIGUOUS) {
+            String prefix = input.substring(0, nameLength);
+            throw new AristoException("Did you mean " + String.join(" or ", findNamesStartingWith(prefix))
+                    + "? Please type more of the command " + prefix + ".\n");
+        }
+        if (entry == NONE) {
+            throw new AristoException("Well, never heard of the command " + input.substring(0, nameLength)
+                    + " before!\n");
+        }
+        return getCommand(entry);
+    }
+
+    /**
+     * Returns the name of every registered command, in the order they were registered.
+     */
+    List<String> getNames() {
+        return names;
+    }
+
+    private Set<String> findNamesStartingWith(String prefix) {
+        Set<String> matches = new TreeSet<>();
+        for (Map.Entry<String, Integer> key : keys.entrySet()) {
+            if (key.getKey().startsWith(prefix)) {
+                matches.add(names.get(key.getValue()));
+            }
+        }
+        return matches;
+    }
+
+    private Command getCommand(int entry) {
+        Command command = commands.get(entry);
+        if (command == null) {
+            commands.compareAndSet(entry, null, factories.get(entry).get());
+            command = commands.get(entry);
+        }
+        return command;
+    }
+
+    /**
+     * Collects the commands of a {@link CommandRegistry} before it is built.
+     */
+    public static class Builder {
+        private final List<String> names = new ArrayList<>();
+        private final List<Supplier<Command>> factories = new ArrayList<>();
+        private final Map<String, Integer> keys = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Registers a command under the given name and aliases. The command is not created
+         * until it is first looked up.
+         *
+         * @param name    The name of the command.
+         * @param factory Creates the command when it is first looked up.
+         * @param aliases Other names the command can be typed as.
+         * @return This builder.
+         * @throws IllegalArgumentException If a name is blank or contains a space, or is already registered.
+         */
+        public Builder register(String name, Supplier<Command> factory, String... aliases) {
+            int entry = names.size();
+            names.add(name);
+            factories.add(factory);
+            addKey(name, entry);
+            for (String alias : aliases) {
+                addKey(alias, entry);
+            }
+            return this;
+        }
+
+        /**
+         * Registers a command by the name of its class, under the given name and aliases. The class
+         * is neither loaded nor initialised until the command is first looked up, which a factory
+         * referring to the class directly cannot promise, since the verifier may load it as soon as
+         * the code registering it is loaded.
+         *
+         * @param name      The name of the command.
+         * @param className The fully qualified name of a {@link Command} with a no-argument constructor.
+         * @param aliases   Other names the command can be typed as.
+         * @return This builder.
+         * @throws IllegalArgumentException If a name is blank or contains a space, or is already registered.
+         */
+        public Builder registerClass(String name, String className, String... aliases) {
+            return register(name, () -> createCommand(className), aliases);
+        }
+
+        private static Command createCommand(String className) {
+            try {
+                return Class.forName(className, true, CommandRegistry.class.getClassLoader())
+                        .asSubclass(Command.class).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                throw new IllegalStateException("Cannot create the command " + className, e);
+            }
+        }
+
+        private void addKey(String key, int entry) {
+            if (key.isBlank() || key.indexOf(' ') >= 0) {
+                throw new IllegalArgumentException("'" + key + "' cannot be used as a command name");
+            }
+            if (keys.putIfAbsent(key, entry) != null) {
+                throw new IllegalArgumentException("More than one command is named " + key);
+            }
+        }
+
+        /**
+         * Builds a registry of the commands registered so far.
+         */
+        public CommandRegistry build() {
+            return new CommandRegistry(this);
+        }
+    }
+}
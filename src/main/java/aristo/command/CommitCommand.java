@@ -0,0 +1,22 @@
+package aristo.command;
+
+import aristo.exception.AristoException;
+import aristo.storage.TaskStorage;
+import aristo.task.TaskList;
+import aristo.ui.Ui;
+
+/**
+ * Command to end the open transaction and save its changes with a single write.
+ */
+public class CommitCommand extends Command {
+    @Override
+    public String execute(CommandContext context, String argument) throws AristoException {
+        TaskList taskList = context.getTaskList();
+        TaskStorage storage = context.getStorage();
+        Ui ui = context.getUi();
+
+        int changeCount = taskList.commitTransaction();
+        storage.writeDeferred(taskList);
+        return ui.showTransactionCommitted(changeCount);
+    }
+}
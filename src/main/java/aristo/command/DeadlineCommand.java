@@ -13,15 +13,12 @@ import aristo.ui.Ui;
  * Command to add a new Deadline task to the task list.
  */
 public class DeadlineCommand extends Command {
-    private final Ui ui;
-
-    public DeadlineCommand(TaskList taskList, TaskStorage storage, Ui ui) {
-        super(taskList, storage);
-        this.ui = ui;
-    }
-
     @Override
-    public String execute(String argument) throws AristoException {
+    public String execute(CommandContext context, String argument) throws AristoException {
+        TaskList taskList = context.getTaskList();
+        TaskStorage storage = context.getStorage();
+        Ui ui = context.getUi();
+
         if (argument.isBlank()) {
             throw new AristoException("Please provide a task description and its deadline! e.g XXX /by YYY\n");
         }
@@ -33,17 +30,10 @@ public class DeadlineCommand extends Command {
         try {
             Deadline deadlineTask = new Deadline(description, deadline);
             taskList.addTask(deadlineTask);
-            storage.saveTasksToFile(taskList);
-            return ui.showDeadlineTaskAdded(deadlineTask) + printNumberOfTasks();
+            storage.recordAdd(taskList, deadlineTask);
+            return ui.showDeadlineTaskAdded(deadlineTask) + ui.printNumberOfTasks(taskList);
         } catch (DateTimeParseException e) {
             throw new AristoException("Invalid date format! Please enter a valid date in the format yyyy-MM-dd.\n");
         }
     }
-
-    /**
-     * Displays the number of tasks currently in the task list.
-     */
-    private String printNumberOfTasks() {
-        return ui.printNumberOfTasks(taskList);
-    }
 }
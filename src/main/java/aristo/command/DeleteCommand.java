@@ -11,30 +11,20 @@ import aristo.ui.Ui;
  * Command to delete a task from the task list.
  */
 public class DeleteCommand extends Command {
-    private final Ui ui;
-
-    public DeleteCommand(TaskList taskList, TaskStorage storage, Ui ui) {
-        super(taskList, storage);
-        this.ui = ui;
-    }
-
     @Override
-    public String execute(String argument) throws AristoException {
+    public String execute(CommandContext context, String argument) throws AristoException {
+        TaskList taskList = context.getTaskList();
+        TaskStorage storage = context.getStorage();
+        Ui ui = context.getUi();
+
         if (argument.isBlank()) {
             throw new AristoException("Please specify a task number to delete!\n");
         }
 
         int taskIndex = Parser.parseTaskIndex(argument.trim());
         Task task = taskList.removeTask(taskIndex);
-        storage.saveTasksToFile(taskList);
-        return ui.showTaskDeleted(task) + printNumberOfTasks();
-
-    }
+        storage.recordDelete(taskList, taskIndex);
+        return ui.showTaskDeleted(task) + ui.printNumberOfTasks(taskList);
 
-    /**
-     * Displays the number of tasks currently in the task list.
-     */
-    private String printNumberOfTasks() {
-        return ui.printNumberOfTasks(taskList);
     }
 }
@@ -13,15 +13,12 @@ import aristo.ui.Ui;
  * Command to add a new Event task to the task list.
  */
 public class EventCommand extends Command {
-    private final Ui ui;
-
-    public EventCommand(TaskList taskList, TaskStorage storage, Ui ui) {
-        super(taskList, storage);
-        this.ui = ui;
-    }
-
     @Override
-    public String execute(String argument) throws AristoException {
+    public String execute(CommandContext context, String argument) throws AristoException {
+        TaskList taskList = context.getTaskList();
+        TaskStorage storage = context.getStorage();
+        Ui ui = context.getUi();
+
         String[] taskComponents = Parser.parseEvent(argument);
         String description = taskComponents[0];
         String from = taskComponents[1];
@@ -30,17 +27,10 @@ public class EventCommand extends Command {
         try {
             Event eventTask = new Event(description, from, to);
             taskList.addTask(eventTask);
-            storage.saveTasksToFile(taskList);
-            return ui.showEventTaskAdded(eventTask) + printNumberOfTasks();
+            storage.recordAdd(taskList, eventTask);
+            return ui.showEventTaskAdded(eventTask) + ui.printNumberOfTasks(taskList);
         } catch (DateTimeParseException e) {
             throw new AristoException("Please use yyyy-MM-dd format for dates!\n");
         }
     }
-
-    /**
-     * Displays the number of tasks currently in the task list.
-     */
-    private String printNumberOfTasks() {
-        return ui.printNumberOfTasks(taskList);
-    }
 }
@@ -1,7 +1,6 @@
 package aristo.command;
 
 import aristo.exception.AristoException;
-import aristo.storage.TaskStorage;
 import aristo.task.TaskList;
 import aristo.ui.Ui;
 
@@ -9,15 +8,11 @@ import aristo.ui.Ui;
  * Command to find tasks matching a keyword.
  */
 public class FindCommand extends Command {
-    private final Ui ui;
-
-    public FindCommand(TaskList taskList, TaskStorage storage, Ui ui) {
-        super(taskList, storage);
-        this.ui = ui;
-    }
-
     @Override
-    public String execute(String argument) throws AristoException {
+    public String execute(CommandContext context, String argument) throws AristoException {
+        TaskList taskList = context.getTaskList();
+        Ui ui = context.getUi();
+
         if (argument.isBlank()) {
             throw new AristoException("Please provide a keyword to search for!\n");
         }
@@ -25,4 +20,9 @@ public class FindCommand extends Command {
         TaskList matchingTasks = taskList.find(argument);
         return ui.printMatchingTasks(matchingTasks);
     }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
@@ -1,23 +1,34 @@
 package aristo.command;
 
 import aristo.exception.AristoException;
-import aristo.storage.TaskStorage;
+import aristo.parser.Parser;
 import aristo.task.TaskList;
 import aristo.ui.Ui;
 
 /**
- * Command to display all tasks in the task list.
+ * Command to display the tasks in the task list, one page at a time.
+ * <p>
+ * <code>list</code> shows the first {@link #DEFAULT_PAGE_SIZE} tasks, which is the whole list
+ * unless it is very long, and <code>list N</code> or <code>list --page N --size M</code> shows any
+ * other page. A page that is not the whole list ends with its range and the command for the next
+ * page. Only the tasks on the page are rendered, so the size of a response does not grow with the
+ * list.
  */
 public class ListCommand extends Command {
-    private final Ui ui;
+    /** Number of tasks shown when no page size is given. */
+    public static final int DEFAULT_PAGE_SIZE = 1000;
 
-    public ListCommand(TaskList taskList, TaskStorage storage, Ui ui) {
-        super(taskList, storage);
-        this.ui = ui;
+    @Override
+    public String execute(CommandContext context, String argument) throws AristoException {
+        TaskList taskList = context.getTaskList();
+        Ui ui = context.getUi();
+
+        int[] pageAndSize = Parser.parsePageOptions(argument, DEFAULT_PAGE_SIZE);
+        return ui.printTaskPage(taskList, pageAndSize[0], pageAndSize[1], DEFAULT_PAGE_SIZE);
     }
 
     @Override
-    public String execute(String argument) throws AristoException {
-        return ui.printTaskList(taskList);
+    public boolean isReadOnly() {
+        return true;
     }
 }
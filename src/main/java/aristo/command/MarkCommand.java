@@ -11,15 +11,12 @@ import aristo.ui.Ui;
  * Command to mark a task as done.
  */
 public class MarkCommand extends Command {
-    private final Ui ui;
-
-    public MarkCommand(TaskList taskList, TaskStorage storage, Ui ui) {
-        super(taskList, storage);
-        this.ui = ui;
-    }
-
     @Override
-    public String execute(String argument) throws AristoException {
+    public String execute(CommandContext context, String argument) throws AristoException {
+        TaskList taskList = context.getTaskList();
+        TaskStorage storage = context.getStorage();
+        Ui ui = context.getUi();
+
         if (argument.isBlank()) {
             throw new AristoException("Please specify a task number to mark!\n");
         }
@@ -31,8 +28,8 @@ public class MarkCommand extends Command {
             throw new AristoException("Task " + taskIndex + " has already been marked as done.\n");
         }
 
-        task.markAsDone();
-        storage.saveTasksToFile(taskList);
+        task = taskList.markTask(taskIndex);
+        storage.recordMark(taskList, taskIndex);
         return ui.showTaskMarked(task);
     }
 }
@@ -0,0 +1,23 @@
+package aristo.command;
+
+import aristo.exception.AristoException;
+import aristo.storage.TaskStorage;
+import aristo.task.TaskList;
+import aristo.ui.Ui;
+
+/**
+ * Command to end the open transaction and undo its changes. Nothing was written for them, so
+ * nothing has to be written to undo them either.
+ */
+public class RollbackCommand extends Command {
+    @Override
+    public String execute(CommandContext context, String argument) throws AristoException {
+        TaskList taskList = context.getTaskList();
+        TaskStorage storage = context.getStorage();
+        Ui ui = context.getUi();
+
+        int changeCount = taskList.rollbackTransaction();
+        storage.discardDeferred();
+        return ui.showTransactionRolledBack(changeCount);
+    }
+}
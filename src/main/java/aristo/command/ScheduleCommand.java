@@ -4,29 +4,42 @@ import java.time.LocalDate;
 
 import aristo.exception.AristoException;
 import aristo.parser.Parser;
-import aristo.storage.TaskStorage;
 import aristo.task.TaskList;
 import aristo.ui.Ui;
 
 /**
- * Command to view all tasks scheduled for a specific date.
+ * Command to view all tasks scheduled for a specific date or range of dates.
  */
 public class ScheduleCommand extends Command {
-    private final Ui ui;
-
-    public ScheduleCommand(TaskList taskList, TaskStorage storage, Ui ui) {
-        super(taskList, storage);
-        this.ui = ui;
-    }
-
     @Override
-    public String execute(String argument) throws AristoException {
+    public String execute(CommandContext context, String argument) throws AristoException {
+        TaskList taskList = context.getTaskList();
+        Ui ui = context.getUi();
+
         if (argument.isBlank()) {
             throw new AristoException("Please provide a date to view tasks! Format: schedule YYYY-MM-DD\n");
         }
 
-        LocalDate date = Parser.parseDate(argument);
-        TaskList tasksOnDate = taskList.getTasksOn(date);
-        return ui.printTasksOnDate(tasksOnDate, date);
+        String dates = argument.trim();
+        int separator = dates.indexOf(' ');
+        if (separator < 0) {
+            LocalDate date = Parser.parseDate(dates);
+            TaskList tasksOnDate = taskList.getTasksOn(date);
+            return ui.printTasksOnDate(tasksOnDate, date);
+        }
+
+        LocalDate from = Parser.parseDate(dates.substring(0, separator));
+        LocalDate to = Parser.parseDate(dates.substring(separator + 1).trim());
+        if (to.isBefore(from)) {
+            throw new AristoException("End date cannot be before start date. Format: schedule YYYY-MM-DD YYYY-MM-DD\n");
+        }
+
+        TaskList tasksInRange = taskList.getTasksBetween(from, to);
+        return ui.printTasksBetween(tasksInRange, from, to);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
     }
-}
\ No newline at end of file
+}
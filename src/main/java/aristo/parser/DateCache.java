@@ -0,0 +1,89 @@
+package aristo.parser;
+
+import java.time.LocalDate;
+
+/**
+ * Hands out shared {@link LocalDate} objects for the dates that are parsed or loaded, so tasks on
+ * the same day hold the same date instead of one copy each.
+ * <p>
+ * The cache is a fixed table with one slot per epoch day, wrapping around every
+ * {@value #CAPACITY} days, so it never grows however many dates pass through it. Consecutive days
+ * never share a slot, and a date that finds its slot taken by another day simply replaces it.
+ * Each slot is checked against the date asked for before it is used, so the table can be read and
+ * written by several threads at once without locking; a lost update only costs a new object.
+ */
+public class DateCache {
+    private static final int CAPACITY = 4096;
+    private static final int MASK = CAPACITY - 1;
+    private static final int DAYS_PER_CYCLE = 146097;
+    private static final long DAYS_0000_TO_1970 = (DAYS_PER_CYCLE * 5L) - (30L * 365L + 7L);
+
+    private static final LocalDate[] DATES = new LocalDate[CAPACITY];
+
+    private DateCache() {
+    }
+
+    /**
+     * Returns the date with the given year, month and day.
+     *
+     * @param year  The year, from -999999999 to 999999999.
+     * @param month The month of the year, from 1 to 12.
+     * @param day   The day of the month, from 1 to 31.
+     * @return The date, shared with earlier callers asking for the same day where possible.
+     * @throws java.time.DateTimeException If the fields do not make a valid date.
+     */
+    public static LocalDate of(int year, int month, int day) {
+        int slot = (int) toEpochDay(year, month, day) & MASK;
+        LocalDate date = DATES[slot];
+        if (date != null && date.getDayOfMonth() == day && date.getMonthValue() == month && date.getYear() == year) {
+            return date;
+        }
+
+        date = LocalDate.of(year, month, day);
+        DATES[slot] = date;
+        return date;
+    }
+
+    /**
+     * Returns the date the given number of days after 1970-01-01.
+     *
+     * @param epochDay The number of days since 1970-01-01, negative for earlier dates.
+     * @return The date, shared with earlier callers asking for the same day where possible.
+     * @throws java.time.DateTimeException If the day is outside the range of {@link LocalDate}.
+     */
+    public static LocalDate ofEpochDay(long epochDay) {
+        int slot = (int) epochDay & MASK;
+        LocalDate date = DATES[slot];
+        if (date != null && date.toEpochDay() == epochDay) {
+            return date;
+        }
+
+        date = LocalDate.ofEpochDay(epochDay);
+        DATES[slot] = date;
+        return date;
+    }
+
+    /**
+     * Returns the epoch day of the given fields the way {@link LocalDate#toEpochDay()} does, without
+     * checking that they make a valid date first.
+     */
+    private static long toEpochDay(int year, int month, int day) {
+        long y = year;
+        long total = 365 * y;
+        if (y >= 0) {
+            total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        } else {
+            total -= y / -4 - y / -100 + y / -400;
+        }
+        total += (367L * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            boolean isLeapYear = (y & 3) == 0 && (y % 100 != 0 || y % 400 == 0);
+            if (!isLeapYear) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+}
@@ -0,0 +1,163 @@
+package aristo.parser;
+
+/**
+ * Represents a line of user input split into its command word, arguments and flags.
+ * <p>
+ * The input is scanned once, character by character, and only the positions of its parts are
+ * kept, so a part is copied out of the input only when it is asked for. The flags recognised are
+ * <code>/by</code>, <code>/from</code> and <code>/to</code>, each with a space on either side.
+ * Like <code>split</code>, the first <code>/by</code> and <code>/from</code> are taken, along
+ * with the first <code>/to</code> after the <code>/from</code>.
+ * <p>
+ * An instance can be reused by parsing another input into it, which forgets the previous one.
+ * It is not safe to share between threads.
+ */
+public class ParsedCommand {
+    private static final String FLAG_BY = " /by ";
+    private static final String FLAG_FROM = " /from ";
+    private static final String FLAG_TO = " /to ";
+    private static final int ABSENT = -1;
+
+    private String input = "";
+    private int nameEnd;
+    private int argumentStart;
+    private int byStart;
+    private int fromStart;
+    private int toStart;
+
+    /**
+     * Parses a whole line of input, starting with the command word.
+     *
+     * @param input Raw input string from the user.
+     * @return This object, holding the parts of the input.
+     */
+    public ParsedCommand parse(String input) {
+        int nameEnd = Parser.findCommandNameEnd(input);
+        scan(input, nameEnd, Math.min(nameEnd + 1, input.length()));
+        return this;
+    }
+
+    /**
+     * Parses the arguments of a command, without a command word in front of them.
+     *
+     * @param arguments Input string holding the arguments.
+     * @return This object, holding the parts of the input.
+     */
+    public ParsedCommand parseArguments(String arguments) {
+        scan(arguments, 0, 0);
+        return this;
+    }
+
+    private void scan(String input, int nameEnd, int argumentStart) {
+        this.input = input;
+        this.nameEnd = nameEnd;
+        this.argumentStart = argumentStart;
+        byStart = ABSENT;
+        fromStart = ABSENT;
+        toStart = ABSENT;
+
+        int length = input.length();
+        for (int i = argumentStart; i + 1 < length; i++) {
+            if (input.charAt(i) != ' ' || input.charAt(i + 1) != '/') {
+                continue;
+            }
+            if (byStart == ABSENT && input.startsWith(FLAG_BY, i)) {
+                byStart = i;
+            } else if (fromStart == ABSENT && input.startsWith(FLAG_FROM, i)) {
+                fromStart = i;
+            }
+            if (toStart == ABSENT && fromStart != ABSENT && i >= fromStart + FLAG_FROM.length()
+                    && input.startsWith(FLAG_TO, i)) {
+                toStart = i;
+            }
+        }
+    }
+
+    /**
+     * Returns the command word, which ends at the first space.
+     */
+    public String getName() {
+        return input.substring(0, nameEnd);
+    }
+
+    /**
+     * Returns everything after the command word, untrimmed.
+     */
+    public String getArgument() {
+        return input.substring(argumentStart);
+    }
+
+    /**
+     * Returns whether the arguments start with the given text.
+     */
+    public boolean argumentStartsWith(String prefix) {
+        return input.startsWith(prefix, argumentStart);
+    }
+
+    /**
+     * Returns whether the input has a <code>/by</code> flag.
+     */
+    public boolean hasBy() {
+        return byStart != ABSENT;
+    }
+
+    /**
+     * Returns whether the input has a <code>/from</code> flag.
+     */
+    public boolean hasFrom() {
+        return fromStart != ABSENT;
+    }
+
+    /**
+     * Returns whether the input has a <code>/to</code> flag.
+     */
+    public boolean hasTo() {
+        return toStart != ABSENT;
+    }
+
+    /**
+     * Returns the trimmed arguments before the <code>/by</code> flag, or all of them if there is none.
+     */
+    public String getTextBeforeBy() {
+        return trimmed(argumentStart, hasBy() ? byStart : input.length());
+    }
+
+    /**
+     * Returns the trimmed text after the <code>/by</code> flag, or an empty string if there is none.
+     */
+    public String getBy() {
+        return hasBy() ? trimmed(byStart + FLAG_BY.length(), input.length()) : "";
+    }
+
+    /**
+     * Returns the trimmed arguments before the <code>/from</code> flag, or all of them if there is none.
+     */
+    public String getTextBeforeFrom() {
+        return trimmed(argumentStart, hasFrom() ? fromStart : input.length());
+    }
+
+    /**
+     * Returns the trimmed text between the <code>/from</code> flag and the <code>/to</code> flag or
+     * the end of the input, or an empty string if there is no <code>/from</code> flag.
+     */
+    public String getFrom() {
+        return hasFrom() ? trimmed(fromStart + FLAG_FROM.length(), hasTo() ? toStart : input.length()) : "";
+    }
+
+    /**
+     * Returns the trimmed text after the <code>/to</code> flag, or an empty string if there is none.
+     */
+    public String getTo() {
+        return hasTo() ? trimmed(toStart + FLAG_TO.length(), input.length()) : "";
+    }
+
+    private String trimmed(int start, int end) {
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return input.substring(start, end);
+    }
+}
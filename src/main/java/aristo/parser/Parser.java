@@ -1,7 +1,7 @@
 package aristo.parser;
 
+import java.time.DateTimeException;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 
 import aristo.exception.AristoException;
 
@@ -9,8 +9,13 @@ import aristo.exception.AristoException;
  * Handles parsing of user input for the Aristo chatbot.
  * <p>
  * Provides static methods to parse commands, task indices, deadlines, and events.
+ * <p>
+ * Input is scanned character by character rather than matched against regular expressions.
+ * Deadlines and events are split by a {@link ParsedCommand} kept for each thread and reused.
  */
 public class Parser {
+    private static final int DATE_LENGTH = 10;
+    private static final ThreadLocal<ParsedCommand> PARSED_ARGUMENTS = ThreadLocal.withInitial(ParsedCommand::new);
 
     /**
      * Parses the user input into a command and its arguments.
@@ -19,18 +24,31 @@ public class Parser {
      * @return Array where index 0 is the command, and index 1 is the rest of the input (or empty string if none).
      */
     public static String[] parseCommand(String userInput) {
-        String[] parsedUserInput = userInput.split(" ", 2);
-        String command = parsedUserInput[0];
-
-        String taskIndexString = getTaskIndexString(parsedUserInput);
+        int nameEnd = findCommandNameEnd(userInput);
+        return new String[]{userInput.substring(0, nameEnd), getArgument(userInput, nameEnd)};
+    }
 
-        return new String[]{command, taskIndexString};
+    /**
+     * Returns the length of the command name at the start of the user input, which ends at the
+     * first space, without copying it.
+     *
+     * @param userInput Raw input string from the user.
+     * @return Position of the first space, or the length of the input if there is none.
+     */
+    public static int findCommandNameEnd(String userInput) {
+        int separator = userInput.indexOf(' ');
+        return separator < 0 ? userInput.length() : separator;
     }
 
-    private static String getTaskIndexString(String[] parsedUserInput) {
-        return (parsedUserInput.length == 1)
-                ? ""
-                : parsedUserInput[1];
+    /**
+     * Returns the rest of the user input after the command name, as {@link #parseCommand} does.
+     *
+     * @param userInput Raw input string from the user.
+     * @param nameEnd   Position where the command name ends, as found by {@link #findCommandNameEnd}.
+     * @return The input after the space following the name, or an empty string if there is none.
+     */
+    public static String getArgument(String userInput, int nameEnd) {
+        return nameEnd >= userInput.length() ? "" : userInput.substring(nameEnd + 1);
     }
 
     /**
@@ -48,6 +66,72 @@ public class Parser {
         }
     }
 
+    /**
+     * Parses the options of the <code>list</code> command, <code>--page N</code> and
+     * <code>--size M</code>, in either order. A bare number before the options is taken as the
+     * page, so <code>list 2</code> is short for <code>list --page 2</code>. Options that are left
+     * out take their defaults.
+     *
+     * @param options     Input string holding the options.
+     * @param defaultSize Number of tasks per page when no size is given.
+     * @return Array where index 0 is the 1-based page number and index 1 is the page size.
+     * @throws AristoException If an option is unknown, missing its value or not a positive number.
+     */
+    public static int[] parsePageOptions(String options, int defaultSize) throws AristoException {
+        int[] pageAndSize = {1, defaultSize};
+        int position = skipWhitespace(options, 0);
+        if (position < options.length() && Character.isDigit(options.charAt(position))) {
+            int pageEnd = findWhitespace(options, position);
+            pageAndSize[0] = parsePositiveNumber(options.substring(position, pageEnd));
+            position = skipWhitespace(options, pageEnd);
+        }
+        while (position < options.length()) {
+            int optionEnd = findWhitespace(options, position);
+            String option = options.substring(position, optionEnd);
+            int slot = switch (option) {
+                case "--page" -> 0;
+                case "--size" -> 1;
+                default -> throw new AristoException("Unknown list option '" + option
+                        + "'! Format: list N --size M\n");
+            };
+
+            int valueStart = skipWhitespace(options, optionEnd);
+            if (valueStart == options.length()) {
+                throw new AristoException("Please give a number after " + option + "!\n");
+            }
+            int valueEnd = findWhitespace(options, valueStart);
+            pageAndSize[slot] = parsePositiveNumber(options.substring(valueStart, valueEnd));
+            position = skipWhitespace(options, valueEnd);
+        }
+        return pageAndSize;
+    }
+
+    private static int skipWhitespace(String text, int position) {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private static int findWhitespace(String text, int position) {
+        while (position < text.length() && !Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private static int parsePositiveNumber(String numberString) throws AristoException {
+        try {
+            int number = Integer.parseInt(numberString);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below along with numbers that are not positive.
+        }
+        throw new AristoException("'" + numberString + "' is not a valid page number or size!\n");
+    }
+
     /**
      * Parses a <code>Deadline</code> task input into description and deadline.
      *
@@ -56,9 +140,9 @@ public class Parser {
      * @throws AristoException If input is missing a description or deadline.
      */
     public static String[] parseDeadline(String taskDetails) throws AristoException {
-        String[] taskComponents = taskDetails.split(" /by ", 2);
+        ParsedCommand parsed = PARSED_ARGUMENTS.get().parseArguments(taskDetails);
 
-        if (hasMissingParts(taskComponents)) {
+        if (!parsed.hasBy()) {
             throw new AristoException("""
                 Ensure you have included both the task description & deadline in the correct format.
                 deadline <description> /by YYYY-MM-DD
@@ -66,10 +150,10 @@ public class Parser {
             );
         }
 
-        String firstComponent = taskComponents[0].trim();
-        String secondComponent = taskComponents[1].trim();
+        String firstComponent = parsed.getTextBeforeBy();
+        String secondComponent = parsed.getBy();
 
-        if (isEmptyComponent(firstComponent) || isEmptyComponent(secondComponent)) {
+        if (firstComponent.isEmpty() || secondComponent.isEmpty()) {
             throw new AristoException("""
                 Ensure you have included both the task description & deadline in the correct format.
                 deadline <description> /by YYYY-MM-DD
@@ -77,19 +161,9 @@ public class Parser {
             );
         }
 
-        assert taskComponents.length == 2 : "Parsed deadline String[] should have length 2";
         return new String[]{firstComponent, secondComponent};
     }
 
-    private static boolean hasMissingParts(String[] taskComponents) {
-        assert taskComponents != null : "Task components cannot be null";
-        return taskComponents.length < 2;
-    }
-
-    private static boolean isEmptyComponent(String component) {
-        return component.isBlank();
-    }
-
     /**
      * Parses an <code>Event</code> task input into description, start time, and end time.
      *
@@ -103,25 +177,23 @@ public class Parser {
             throw new AristoException("Event what? Please provide the description, start and end dates.");
         }
 
-        String[] taskComponents = taskDetails.split(" /from ", 2);
-        String description = taskComponents[0].trim();
+        ParsedCommand parsed = PARSED_ARGUMENTS.get().parseArguments(taskDetails);
+        String description = parsed.getTextBeforeFrom();
 
-        if (taskDetails.startsWith("/from") || description.isBlank()) {
+        if (parsed.argumentStartsWith("/from") || description.isEmpty()) {
             throw new AristoException("Event description is missing! Please provide a description before /from.");
         }
 
-        if (taskComponents.length < 2 || taskComponents[1].isBlank()) {
+        if (!parsed.hasFrom() || (!parsed.hasTo() && parsed.getFrom().isEmpty())) {
             throw new AristoException("Double check you have the start and end times! Use: /from <START> /to <END>");
         }
 
-        String[] fromAndTo = taskComponents[1].split(" /to ", 2);
-
-        if (fromAndTo.length < 2) {
+        if (!parsed.hasTo()) {
             throw new AristoException("Have you included both the start and end dates, spaced and ordered correctly?");
         }
 
-        String fromComponent = fromAndTo[0].trim();
-        String toComponent = fromAndTo[1].trim();
+        String fromComponent = parsed.getFrom();
+        String toComponent = parsed.getTo();
 
         if (fromComponent.isEmpty()) {
             throw new AristoException("Start date is missing! Please provide a start date after /from.");
@@ -142,7 +214,6 @@ public class Parser {
             throw new AristoException("End date looks sus... " + e.getMessage());
         }
 
-        assert fromAndTo.length == 2 : "From and to components of parsed event must be present";
         return new String[]{description, fromComponent, toComponent};
     }
 
@@ -158,18 +229,44 @@ public class Parser {
             throw new AristoException("The date cannot be empty. Please provide a date in YYYY-MM-DD format.");
         }
 
-        if (!dateString.matches("\\d{4}-\\d{2}-\\d{2}")) {
+        if (!isIsoDate(dateString)) {
             throw new AristoException("Invalid date input: '" + dateString
                 + "'. Please use YYYY-MM-DD (e.g., 2023-01-01).");
         }
 
         try {
-            return LocalDate.parse(dateString, DateTimeFormatter.ISO_DATE);
-        } catch (java.time.format.DateTimeParseException e) {
+            return DateCache.of(readNumber(dateString, 0, 4), readNumber(dateString, 5, 7),
+                    readNumber(dateString, 8, 10));
+        } catch (DateTimeException e) {
             throw new AristoException(
                     "Invalid date input: '" + dateString
                         + "'. Make sure the month is 01-12 and day is valid for the month."
             );
         }
     }
+
+    /**
+     * Returns whether the given text has the shape of a date in the format YYYY-MM-DD.
+     */
+    private static boolean isIsoDate(String text) {
+        if (text.length() != DATE_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < DATE_LENGTH; i++) {
+            char c = text.charAt(i);
+            boolean isSeparator = i == 4 || i == 7;
+            if (isSeparator ? c != '-' : c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int readNumber(String digits, int from, int to) {
+        int number = 0;
+        for (int i = from; i < to; i++) {
+            number = number * 10 + (digits.charAt(i) - '0');
+        }
+        return number;
+    }
 }
@@ -0,0 +1,75 @@
+package aristo.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Represents a connection to an {@link AristoServer}, sending one command at a time.
+ */
+public class AristoClient implements AutoCloseable {
+    private final Socket socket;
+    private final BufferedReader reader;
+    private final BufferedWriter writer;
+    private final String greeting;
+
+    /**
+     * Connects to the server listening on the given port of the loopback address and reads its greeting.
+     *
+     * @param port the port the server is listening on
+     * @throws IOException if the server cannot be reached
+     */
+    public AristoClient(int port) throws IOException {
+        this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        this.socket.setTcpNoDelay(true);
+        this.reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        this.writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        this.greeting = readResponse();
+    }
+
+    /**
+     * Returns the greeting the server sent when the connection was opened.
+     */
+    public String getGreeting() {
+        return greeting;
+    }
+
+    /**
+     * Sends a single command and waits for its response.
+     *
+     * @param command the command, without a line terminator
+     * @return the response, with each line ending in <code>\n</code>
+     * @throws IOException if the connection fails
+     */
+    public String send(String command) throws IOException {
+        writer.write(command);
+        writer.write('\n');
+        writer.flush();
+        return readResponse();
+    }
+
+    private String readResponse() throws IOException {
+        StringBuilder response = new StringBuilder();
+        String line = reader.readLine();
+        while (line != null && !line.equals(AristoServer.END_OF_RESPONSE)) {
+            response.append(line.startsWith(AristoServer.END_OF_RESPONSE) ? line.substring(1) : line).append('\n');
+            line = reader.readLine();
+        }
+
+        if (line == null) {
+            throw new EOFException("Server closed the connection");
+        }
+        return response.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
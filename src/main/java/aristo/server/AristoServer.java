@@ -0,0 +1,181 @@
+package aristo.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import aristo.Aristo;
+import aristo.ui.Ui;
+
+/**
+ * Represents a headless Aristo that executes commands sent by other processes over a local TCP socket.
+ * <p>
+ * A client sends one command per line. Each response is sent back line by line and ends with a line
+ * holding only <code>.</code>; response lines that themselves start with <code>.</code> are sent with
+ * another <code>.</code> in front. The greeting is sent as the first response, and sending
+ * <code>bye</code> ends the connection.
+ * <p>
+ * Every client is served on its own thread, against the single task list of the shared {@link Aristo},
+ * which runs queries from different clients in parallel. The server only listens on the loopback address.
+ * Transactions are not available to clients, since they would span the changes of every client, and
+ * neither are batch files, since they would let a client read files on the server's machine.
+ */
+public class AristoServer implements AutoCloseable {
+    /** Port the server listens on when none is given. */
+    public static final int DEFAULT_PORT = 4141;
+
+    /** Line that ends every response. */
+    public static final String END_OF_RESPONSE = ".";
+
+    private static final int BACKLOG = 128;
+
+    private final Aristo aristo;
+    private final ServerSocket serverSocket;
+    private final ExecutorService clientExecutor;
+    private final Set<Socket> openClients = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger clientCount = new AtomicInteger();
+
+    /**
+     * Constructs a server for the given Aristo and binds it to the given port on the loopback address.
+     * The Aristo is switched to server mode.
+     *
+     * @param aristo the Aristo whose task list the clients share
+     * @param port   the port to listen on, or 0 to pick a free one
+     * @throws IOException if the port cannot be bound
+     */
+    public AristoServer(Aristo aristo, int port) throws IOException {
+        this.aristo = aristo;
+        aristo.enableServerMode();
+        this.serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+        this.clientExecutor = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "aristo-client-" + clientCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Starts accepting clients on a background thread.
+     */
+    public void start() {
+        Thread acceptor = new Thread(this::acceptClients, "aristo-server");
+        acceptor.start();
+    }
+
+    private void acceptClients() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                openClients.add(client);
+                clientExecutor.execute(() -> serveClient(client));
+            } catch (RejectedExecutionException e) {
+                break;
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.out.println("Failed to accept a client: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serveClient(Socket client) {
+        try (client;
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+                BufferedWriter writer = new BufferedWriter(
+                        new OutputStreamWriter(client.getOutputStream(), StandardCharsets.UTF_8))) {
+            writeResponse(writer, execute("greet"));
+
+            String line = reader.readLine();
+            while (line != null) {
+                String command = line.strip();
+                writeResponse(writer, execute(command));
+                if (command.equals("bye")) {
+                    break;
+                }
+                line = reader.readLine();
+            }
+        } catch (IOException e) {
+            // The client went away; closing its socket is all that is left to do.
+        } finally {
+            openClients.remove(client);
+        }
+    }
+
+    /**
+     * Executes a single command against the shared task list and returns the response.
+     */
+    String execute(String command) {
+        return aristo.getResponse(command);
+    }
+
+    private static void writeResponse(Writer writer, String response) throws IOException {
+        for (String line : (Iterable<String>) response.lines()::iterator) {
+            if (line.startsWith(END_OF_RESPONSE)) {
+                writer.write(END_OF_RESPONSE);
+            }
+            writer.write(line);
+            writer.write('\n');
+        }
+        writer.write(END_OF_RESPONSE);
+        writer.write('\n');
+        writer.flush();
+    }
+
+    /**
+     * Stops accepting clients, disconnects the connected ones and closes the Aristo instance, which
+     * writes their remaining changes.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        clientExecutor.shutdown();
+        for (Socket client : openClients) {
+            client.close();
+        }
+        aristo.close();
+    }
+
+    /**
+     * Runs Aristo as a server until the process is stopped.
+     *
+     * @param args optionally the port to listen on, followed by the path to the data file
+     * @throws IOException if the port cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        String filePath = args.length > 1 ? args[1] : Aristo.DEFAULT_FILE_PATH;
+
+        AristoServer server = new AristoServer(new Aristo(filePath, new Ui(false)), port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException e) {
+                System.out.println("Failed to stop the server cleanly: " + e.getMessage());
+            }
+        }));
+        server.start();
+        System.out.println("Aristo is listening on " + InetAddress.getLoopbackAddress().getHostAddress()
+                + ":" + server.getPort());
+    }
+}
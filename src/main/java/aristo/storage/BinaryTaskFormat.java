@@ -0,0 +1,202 @@
+package aristo.storage;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import aristo.exception.AristoException;
+import aristo.parser.DateCache;
+import aristo.task.Deadline;
+import aristo.task.Event;
+import aristo.task.Task;
+import aristo.task.Todo;
+
+/**
+ * Represents a compact binary data file format.
+ * <p>
+ * The file starts with a magic number, a format version, the snapshot generation and the task count.
+ * Each task is then stored as a type byte whose top bit is the done flag, a length-prefixed UTF-8
+ * description, and its dates as epoch-day integers. Loading needs no text splitting or date parsing.
+ */
+public class BinaryTaskFormat implements TaskFormat {
+    /** File extension that selects this format. */
+    public static final String FILE_EXTENSION = ".bin";
+
+    private static final int MAGIC = 0x41524953;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 * Integer.BYTES;
+    private static final int MIN_RECORD_BYTES = 1 + Integer.BYTES;
+
+    private static final byte TYPE_TODO = 0;
+    private static final byte TYPE_DEADLINE = 1;
+    private static final byte TYPE_EVENT = 2;
+    private static final byte DONE_FLAG = (byte) 0x80;
+    private static final byte TYPE_MASK = 0x7F;
+
+    @Override
+    public byte[] encode(List<Task> tasks, int generation) {
+        ArrayList<byte[]> descriptions = new ArrayList<>(tasks.size());
+        int size = HEADER_BYTES;
+        for (Task task : tasks) {
+            byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+            descriptions.add(description);
+            size += 1 + Integer.BYTES + description.length + getDateCount(task) * Integer.BYTES;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(generation).putInt(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            byte type = getType(task);
+            buffer.put(task.isDone() ? (byte) (type | DONE_FLAG) : type);
+            buffer.putInt(descriptions.get(i).length).put(descriptions.get(i));
+
+            if (task instanceof Deadline deadline) {
+                buffer.putInt((int) deadline.getBy().toEpochDay());
+            } else if (task instanceof Event event) {
+                buffer.putInt((int) event.getFrom().toEpochDay());
+                buffer.putInt((int) event.getTo().toEpochDay());
+            }
+        }
+        return buffer.array();
+    }
+
+    private static byte getType(Task task) {
+        if (task instanceof Deadline) {
+            return TYPE_DEADLINE;
+        } else if (task instanceof Event) {
+            return TYPE_EVENT;
+        }
+        return TYPE_TODO;
+    }
+
+    private static int getDateCount(Task task) {
+        if (task instanceof Deadline) {
+            return 1;
+        } else if (task instanceof Event) {
+            return 2;
+        }
+        return 0;
+    }
+
+    @Override
+    public ArrayList<Task> decode(byte[] data) {
+        ArrayList<Task> loadedTasks = new ArrayList<>();
+        if (!hasValidHeader(data)) {
+            if (data.length > 0) {
+                System.out.println("Skipping data file with an unrecognised binary header!");
+            }
+            return loadedTasks;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        buffer.position(3 * Integer.BYTES);
+        int count = buffer.getInt();
+        loadedTasks.ensureCapacity(getMaxRecordCount(count, data.length));
+
+        try {
+            for (int i = 0; i < count; i++) {
+                loadedTasks.add(readTask(buffer));
+            }
+        } catch (AristoException | BufferUnderflowException | IllegalArgumentException | DateTimeException e) {
+            System.out.println("Skipping corrupted tasks from task " + (loadedTasks.size() + 1) + " onwards!");
+        }
+        return loadedTasks;
+    }
+
+    private Task readTask(ByteBuffer buffer) throws AristoException {
+        byte typeAndDone = buffer.get();
+        int descriptionLength = buffer.getInt();
+        if (descriptionLength < 0 || descriptionLength > buffer.remaining()) {
+            throw new AristoException("Task description length is corrupted!");
+        }
+        byte[] description = new byte[descriptionLength];
+        buffer.get(description);
+        String descriptionText = new String(description, StandardCharsets.UTF_8);
+
+        Task task;
+        switch (typeAndDone & TYPE_MASK) {
+        case TYPE_TODO:
+            task = new Todo(descriptionText);
+            break;
+        case TYPE_DEADLINE:
+            task = new Deadline(descriptionText, DateCache.ofEpochDay(buffer.getInt()));
+            break;
+        case TYPE_EVENT:
+            LocalDate from = DateCache.ofEpochDay(buffer.getInt());
+            LocalDate to = DateCache.ofEpochDay(buffer.getInt());
+            task = new Event(descriptionText, from, to);
+            break;
+        default:
+            throw new AristoException("Unknown task type in binary data file!");
+        }
+
+        if ((typeAndDone & DONE_FLAG) != 0) {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+    @Override
+    public int decodeGeneration(byte[] data) {
+        if (!hasValidHeader(data)) {
+            return 0;
+        }
+        return ByteBuffer.wrap(data).getInt(2 * Integer.BYTES);
+    }
+
+    @Override
+    public int[] findRecordOffsets(ByteBuffer data) {
+        if (data.limit() < HEADER_BYTES || data.getInt(0) != MAGIC || data.getInt(Integer.BYTES) != VERSION) {
+            return new int[0];
+        }
+
+        int count = data.getInt(3 * Integer.BYTES);
+        int[] offsets = new int[getMaxRecordCount(count, data.limit())];
+        ByteBuffer buffer = data.duplicate().position(HEADER_BYTES);
+        int found = 0;
+        try {
+            // Each record is read in full, so that the scan stops at the same task as decode does.
+            while (found < count) {
+                int position = buffer.position();
+                readTask(buffer);
+                offsets[found++] = position;
+            }
+        } catch (AristoException | BufferUnderflowException | IllegalArgumentException | DateTimeException e) {
+            System.out.println("Skipping corrupted tasks from task " + (found + 1) + " onwards!");
+            return Arrays.copyOf(offsets, found);
+        }
+        return offsets;
+    }
+
+    @Override
+    public Task decodeRecord(ByteBuffer data, int offset) throws AristoException {
+        try {
+            return readTask(data.duplicate().position(offset));
+        } catch (BufferUnderflowException | IllegalArgumentException | DateTimeException e) {
+            throw new AristoException("Task record is corrupted!");
+        }
+    }
+
+    /**
+     * Returns the stored task count, or the most records that fit in the file if the count is
+     * larger, so that a corrupted count cannot make room for more tasks than the file holds.
+     */
+    private static int getMaxRecordCount(int count, int fileLength) {
+        return Math.max(0, Math.min(count, (fileLength - HEADER_BYTES) / MIN_RECORD_BYTES));
+    }
+
+    private static boolean hasValidHeader(byte[] data) {
+        if (data.length < HEADER_BYTES) {
+            return false;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        return buffer.getInt() == MAGIC && buffer.getInt() == VERSION;
+    }
+}
@@ -0,0 +1,84 @@
+package aristo.storage;
+
+/**
+ * Represents how eagerly written task data is forced from the OS cache onto the disk.
+ * <p>
+ * Forcing every write is the safest choice but makes each change wait for the disk.
+ * Forcing at most once per interval limits how often a change waits for the disk, while
+ * never forcing leaves it entirely to the operating system.
+ * </p>
+ * <p>
+ * A periodic policy only decides whether a write that is happening anyway is forced; nothing
+ * forces the disk on a timer. The writes skipped within an interval stay in the OS cache until
+ * a later write is forced or the operating system flushes them, so there is no upper bound on
+ * how much recent work a power loss can undo.
+ * </p>
+ */
+public class DurabilityPolicy {
+    private static final long ALWAYS = 0;
+    private static final long NEVER = -1;
+
+    private final long intervalMillis;
+    private long lastSyncMillis;
+
+    private DurabilityPolicy(long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Returns a policy that forces every write to disk before it is reported as saved.
+     */
+    public static DurabilityPolicy always() {
+        return new DurabilityPolicy(ALWAYS);
+    }
+
+    /**
+     * Returns a policy that forces a write to disk only if the last forced write was
+     * at least the given number of milliseconds ago. Writes are forced at most once per
+     * interval, with no upper bound on how long an unforced write may wait.
+     *
+     * @param intervalMillis the minimum time between two forced writes, in milliseconds
+     * @return the periodic durability policy
+     */
+    public static DurabilityPolicy every(long intervalMillis) {
+        if (intervalMillis <= 0) {
+            return always();
+        }
+        return new DurabilityPolicy(intervalMillis);
+    }
+
+    /**
+     * Returns a policy that never forces writes, leaving flushing to the operating system.
+     */
+    public static DurabilityPolicy never() {
+        return new DurabilityPolicy(NEVER);
+    }
+
+    /**
+     * Returns whether the write that is about to complete should be forced to disk,
+     * and if so, remembers it as the latest forced write.
+     */
+    synchronized boolean shouldSync() {
+        if (intervalMillis == NEVER) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        if (intervalMillis != ALWAYS && now - lastSyncMillis < intervalMillis) {
+            return false;
+        }
+
+        lastSyncMillis = now;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        if (intervalMillis == ALWAYS) {
+            return "always";
+        } else if (intervalMillis == NEVER) {
+            return "never";
+        }
+        return "every " + intervalMillis + "ms";
+    }
+}
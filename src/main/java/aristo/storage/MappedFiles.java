@@ -0,0 +1,56 @@
+package aristo.storage;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Releases file mappings as soon as they are no longer needed.
+ * <p>
+ * A mapped file normally stays mapped until its buffer is garbage collected, and on Windows a
+ * file that is still mapped cannot be replaced. There is no public way to unmap a buffer, so the
+ * JDK's own <code>Unsafe.invokeCleaner</code> is looked up once and used where it is available.
+ * Where it is not, the mapping is left to the garbage collector as before.
+ */
+final class MappedFiles {
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private MappedFiles() {
+    }
+
+    /**
+     * Unmaps the given buffer, which must have been returned by <code>FileChannel.map</code>
+     * and must not be used, or have any duplicate used, afterwards.
+     *
+     * @param buffer the mapped buffer to release
+     */
+    static void unmap(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null || !buffer.isDirect()) {
+            return;
+        }
+
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // The garbage collector will unmap the buffer once it is unreachable.
+        }
+    }
+}
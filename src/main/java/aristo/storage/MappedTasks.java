@@ -0,0 +1,149 @@
+package aristo.storage;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import aristo.exception.AristoException;
+import aristo.task.Task;
+import aristo.task.Todo;
+
+/**
+ * Represents the tasks of a memory-mapped data file as a list that decodes each task only
+ * when it is first accessed.
+ * <p>
+ * Only the offset of each task record is kept until then, so opening a large file costs one
+ * scan for record boundaries and a few bytes per task. Decoded tasks are cached so that changes
+ * made to them, such as marking them as done, are kept. Tasks added after loading are held in
+ * memory like in any other list.
+ * <p>
+ * Records that cannot be decoded are already left out by the scan for record boundaries, so
+ * the list holds the same tasks as a full load. Should a record still fail to decode, it cannot
+ * be skipped without shifting the numbers of the tasks after it, so it is kept as a
+ * <code>Todo</code> holding the unreadable record instead.
+ * <p>
+ * The file is unmapped once every task has been decoded, or when {@link #releaseData()} is
+ * called before the file is replaced.
+ * <p>
+ * The low footprint therefore only lasts until the first snapshot of the list is written.
+ * Encoding a snapshot reads every task, and the file must be released before it is replaced,
+ * so from then on every task is held in memory, as after an eager load. For a million tasks
+ * that is roughly a hundred megabytes instead of about ten.
+ * <p>
+ * Since even reading a task may decode and cache it, every access is synchronized, so that
+ * several threads can read the list at once.
+ */
+class MappedTasks extends AbstractList<Task> implements RandomAccess {
+    private static final int NOT_MAPPED = -1;
+
+    private final TaskFormat format;
+    private ByteBuffer data;
+    private int[] offsets;
+    private Task[] tasks;
+    private int size;
+    private int undecodedCount;
+
+    /**
+     * Constructs a list over the task records of the given mapped file contents.
+     *
+     * @param format the format the file contents are stored in
+     * @param data   the mapped contents of the data file
+     */
+    MappedTasks(TaskFormat format, ByteBuffer data) {
+        this.format = format;
+        this.data = data;
+        this.offsets = format.findRecordOffsets(data);
+        this.size = offsets.length;
+        this.undecodedCount = size;
+        this.tasks = new Task[size];
+        releaseDataIfFullyDecoded();
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized Task get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+
+        if (tasks[index] == null) {
+            tasks[index] = decode(offsets[index]);
+            offsets[index] = NOT_MAPPED;
+            undecodedCount--;
+            releaseDataIfFullyDecoded();
+        }
+        return tasks[index];
+    }
+
+    private Task decode(int offset) {
+        try {
+            return format.decodeRecord(data, offset);
+        } catch (AristoException e) {
+            System.out.println("Keeping unreadable task record as a todo: " + e.getMessage());
+            return new Todo("(unreadable task record at byte " + offset + ")");
+        }
+    }
+
+    /**
+     * Unmaps the file once every task has been decoded.
+     */
+    private void releaseDataIfFullyDecoded() {
+        if (undecodedCount == 0 && data != null) {
+            MappedFiles.unmap(data);
+            data = null;
+        }
+    }
+
+    /**
+     * Decodes every task not yet decoded and unmaps the file, so that it can be replaced.
+     */
+    synchronized void releaseData() {
+        for (int i = 0; i < size && undecodedCount > 0; i++) {
+            get(i);
+        }
+        releaseDataIfFullyDecoded();
+    }
+
+    @Override
+    public synchronized Task set(int index, Task task) {
+        Task previous = get(index);
+        tasks[index] = task;
+        return previous;
+    }
+
+    @Override
+    public synchronized void add(int index, Task task) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+
+        if (size == tasks.length) {
+            int capacity = Math.max(size * 2, 16);
+            tasks = Arrays.copyOf(tasks, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+        }
+
+        System.arraycopy(tasks, index, tasks, index + 1, size - index);
+        System.arraycopy(offsets, index, offsets, index + 1, size - index);
+        tasks[index] = task;
+        offsets[index] = NOT_MAPPED;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public synchronized Task remove(int index) {
+        Task removed = get(index);
+        System.arraycopy(tasks, index + 1, tasks, index, size - index - 1);
+        System.arraycopy(offsets, index + 1, offsets, index, size - index - 1);
+        size--;
+        tasks[size] = null;
+        modCount++;
+        return removed;
+    }
+}
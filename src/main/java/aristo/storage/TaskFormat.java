@@ -0,0 +1,77 @@
+package aristo.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import aristo.exception.AristoException;
+import aristo.task.Task;
+
+/**
+ * Represents an encoding of a list of tasks into the bytes of a data file.
+ * <p>
+ * Besides the tasks themselves, a data file records the generation of the snapshot,
+ * which tells {@link TaskStorage} which journal records still need to be replayed.
+ */
+public interface TaskFormat {
+
+    /**
+     * Encodes the given tasks, in order, as the contents of a data file.
+     *
+     * @param tasks      the tasks to encode
+     * @param generation the snapshot generation to record
+     * @return the encoded file contents
+     */
+    byte[] encode(List<Task> tasks, int generation);
+
+    /**
+     * Decodes the tasks stored in the given file contents, skipping any that are corrupted.
+     *
+     * @param data the contents of a data file
+     * @return the decoded tasks, in file order
+     */
+    ArrayList<Task> decode(byte[] data);
+
+    /**
+     * Returns the snapshot generation recorded in the given file contents, or 0 if there is none.
+     *
+     * @param data the contents of a data file
+     * @return the recorded generation
+     */
+    int decodeGeneration(byte[] data);
+
+    /**
+     * Returns the byte offset of every task record in the given file contents, in file order,
+     * without keeping the decoded tasks. Records that {@link #decode} would skip are skipped
+     * here too, so the offsets give the same tasks as a full decode.
+     *
+     * @param data the contents of a data file
+     * @return the offsets at which {@link #decodeRecord} can decode each task
+     */
+    int[] findRecordOffsets(ByteBuffer data);
+
+    /**
+     * Decodes the single task record starting at the given offset.
+     *
+     * @param data   the contents of a data file
+     * @param offset the offset of the record, as returned by {@link #findRecordOffsets}
+     * @return the decoded task
+     * @throws AristoException if the record is corrupted
+     */
+    Task decodeRecord(ByteBuffer data, int offset) throws AristoException;
+
+    /**
+     * Returns the format to use for the given file: binary for files ending in <code>.bin</code>,
+     * and the human-readable text format otherwise.
+     *
+     * @param filePath the path to the data file
+     * @return the matching format
+     */
+    static TaskFormat forFile(Path filePath) {
+        if (filePath.getFileName().toString().endsWith(BinaryTaskFormat.FILE_EXTENSION)) {
+            return new BinaryTaskFormat();
+        }
+        return new TextTaskFormat();
+    }
+}
@@ -0,0 +1,241 @@
+package aristo.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import aristo.exception.AristoException;
+
+/**
+ * Represents the append-only journal of task list changes made since the last snapshot.
+ * <p>
+ * Each change is stored as a single line, so recording a change costs the same no matter
+ * how many tasks are in the list. The first line of the journal names the snapshot
+ * generation it applies to, which lets a stale journal be recognised and ignored, along with
+ * the length of that snapshot and, if it was read rather than mapped, its checksum.
+ * <p>
+ * Records refer to tasks by their position in the list, so they only make sense on top of the
+ * exact snapshot they were written against. A journal whose snapshot no longer matches the data
+ * file, because the file was edited or replaced, is set aside and reported instead of replayed.
+ */
+class TaskJournal {
+    private static final String GENERATION_PREFIX = "# generation ";
+    private static final String DIGEST_PREFIX = " snapshot ";
+    private static final String DIGEST_SEPARATOR = "/";
+    private static final String REJECTED_SUFFIX = ".rejected-";
+
+    private final Path journalPath;
+    private int recordCount;
+
+    /**
+     * Constructs a TaskJournal that stores its records at the given path.
+     *
+     * @param journalPath the path to the journal file
+     */
+    TaskJournal(Path journalPath) {
+        this.journalPath = journalPath;
+    }
+
+    /**
+     * Returns the path of the journal file.
+     */
+    Path getPath() {
+        return journalPath;
+    }
+
+    /**
+     * Returns the number of records appended since the journal was last reset.
+     */
+    int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Appends one record to the journal, starting a new journal for the given snapshot if needed.
+     *
+     * @param generation the generation of the snapshot the record applies to
+     * @param digest     the digest of the snapshot the record applies to, from {@link #digest}
+     * @param record     the record to append
+     * @param isSynced   whether the record is forced to disk before returning
+     * @throws IOException if the record cannot be written
+     */
+    void append(int generation, String digest, String record, boolean isSynced) throws IOException {
+        appendAll(generation, digest, List.of(record), isSynced);
+    }
+
+    /**
+     * Appends the given records to the journal with a single write, starting a new journal for
+     * the given snapshot if needed.
+     *
+     * @param generation the generation of the snapshot the records apply to
+     * @param digest     the digest of the snapshot the records apply to, from {@link #digest}
+     * @param records    the records to append, in order
+     * @param isSynced   whether the records are forced to disk before returning
+     * @throws IOException if the records cannot be written
+     */
+    void appendAll(int generation, String digest, List<String> records, boolean isSynced) throws IOException {
+        StringBuilder text = new StringBuilder();
+        if (!Files.exists(journalPath)) {
+            text.append(generationHeader(generation)).append(DIGEST_PREFIX).append(digest)
+                    .append(System.lineSeparator());
+        }
+        for (String record : records) {
+            text.append(record).append(System.lineSeparator());
+        }
+
+        try (FileChannel channel = FileChannel.open(journalPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (isSynced) {
+                channel.force(false);
+            }
+        }
+        recordCount += records.size();
+    }
+
+    /**
+     * Returns the records that apply to the given snapshot.
+     * <p>
+     * A journal left behind by the previous generation is deleted and returned as empty, since
+     * its records are already part of the snapshot. A journal written against any other snapshot is
+     * renamed aside, so that its records are neither replayed onto the wrong tasks nor lost.
+     * </p>
+     *
+     * @param generation the generation of the snapshot that was loaded
+     * @param digest     the digest of the snapshot that was loaded, from {@link #digest}
+     * @return the records to replay, in the order they were written
+     * @throws IOException     if the journal exists but cannot be read
+     * @throws AristoException if the journal was written against another snapshot and was set aside
+     */
+    List<String> readRecords(int generation, String digest) throws IOException, AristoException {
+        List<String> records = new ArrayList<>();
+        recordCount = 0;
+        if (!Files.exists(journalPath)) {
+            return records;
+        }
+
+        List<String> lines = Files.readAllLines(journalPath, StandardCharsets.UTF_8);
+        if (lines.isEmpty()) {
+            return records;
+        }
+
+        String header = lines.get(0);
+        int journalGeneration = parseGeneration(header);
+        if (journalGeneration >= 0 && journalGeneration == generation - 1) {
+            // The snapshot was written but the process stopped before deleting the journal.
+            reset();
+            return records;
+        }
+
+        String journalDigest = parseDigest(header);
+        if (journalGeneration != generation || (journalDigest != null && !isSameSnapshot(journalDigest, digest))) {
+            Path rejectedPath = journalPath.resolveSibling(journalPath.getFileName() + REJECTED_SUFFIX
+                    + System.currentTimeMillis());
+            Files.move(journalPath, rejectedPath, StandardCopyOption.REPLACE_EXISTING);
+            throw new AristoException("The data file has changed since its journal was written, so the "
+                    + "journal was not replayed. Its changes are kept in " + rejectedPath);
+        }
+
+        records.addAll(lines.subList(1, lines.size()));
+        recordCount = records.size();
+        return records;
+    }
+
+    /**
+     * Deletes the journal once its records have been folded into a snapshot.
+     *
+     * @throws IOException if the journal cannot be deleted
+     */
+    void reset() throws IOException {
+        Files.deleteIfExists(journalPath);
+        recordCount = 0;
+    }
+
+    /**
+     * Returns the header line identifying the given snapshot generation.
+     */
+    static String generationHeader(int generation) {
+        return GENERATION_PREFIX + generation;
+    }
+
+    /**
+     * Returns the generation named by a header line, or -1 if the line is not a header.
+     */
+    static int parseGeneration(String line) {
+        if (!line.startsWith(GENERATION_PREFIX)) {
+            return -1;
+        }
+
+        int end = line.indexOf(DIGEST_PREFIX, GENERATION_PREFIX.length());
+        if (end < 0) {
+            end = line.length();
+        }
+        try {
+            return Integer.parseInt(line.substring(GENERATION_PREFIX.length(), end).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the snapshot digest named by a journal header, or null if it names none, as in
+     * journals written before digests were recorded.
+     */
+    private static String parseDigest(String header) {
+        int start = header.indexOf(DIGEST_PREFIX, GENERATION_PREFIX.length());
+        return start < 0 ? null : header.substring(start + DIGEST_PREFIX.length()).trim();
+    }
+
+    /**
+     * Returns the length and checksum of the given snapshot contents, to tell apart snapshots
+     * of the same generation.
+     *
+     * @param contents the contents of a data file, read from its current position to its limit
+     * @return the digest to record in a journal header
+     */
+    static String digest(ByteBuffer contents) {
+        CRC32 checksum = new CRC32();
+        int length = contents.remaining();
+        checksum.update(contents.duplicate());
+        return length + DIGEST_SEPARATOR + Long.toHexString(checksum.getValue());
+    }
+
+    /**
+     * Returns a digest holding only the given snapshot length, for a data file that is mapped
+     * rather than read, so that checking its journal does not touch every page of the file.
+     *
+     * @param length the length of the data file in bytes
+     * @return the digest to record in a journal header
+     */
+    static String digest(long length) {
+        return String.valueOf(length);
+    }
+
+    /**
+     * Returns whether two digests may describe the same snapshot: their lengths match and, if both
+     * hold a checksum, so do their checksums.
+     */
+    private static boolean isSameSnapshot(String journalDigest, String loadedDigest) {
+        boolean hasBothChecksums = journalDigest.contains(DIGEST_SEPARATOR) && loadedDigest.contains(DIGEST_SEPARATOR);
+        if (hasBothChecksums) {
+            return journalDigest.equals(loadedDigest);
+        }
+        return lengthOf(journalDigest).equals(lengthOf(loadedDigest));
+    }
+
+    private static String lengthOf(String digest) {
+        int end = digest.indexOf(DIGEST_SEPARATOR);
+        return end < 0 ? digest : digest.substring(0, end);
+    }
+}
@@ -1,18 +1,24 @@
 package aristo.storage;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.List;
 
 import aristo.exception.AristoException;
-import aristo.task.Deadline;
-import aristo.task.Event;
+import aristo.task.PackedTasks;
 import aristo.task.Task;
 import aristo.task.TaskList;
-import aristo.task.Todo;
 
 /**
  * Handles loading and saving of tasks to a storage file.
@@ -20,24 +26,128 @@ import aristo.task.Todo;
  * This class is responsible for reading tasks from a file into memory
  * and saving tasks from memory back to the file. It ensures the data
  * file exists and can create directories as needed.
+ * <p>
+ * In journal mode, each change is appended to a journal next to the data file
+ * instead of rewriting the whole file. The journal is folded back into the data
+ * file once it grows past {@link #COMPACTION_THRESHOLD} records, and replayed
+ * on top of the data file when tasks are loaded.
+ * <p>
+ * The data file is never written in place. A full save goes to a temporary file
+ * that is renamed over the data file once complete, so a crash leaves either the
+ * old or the new file intact. The {@link DurabilityPolicy} decides whether writes
+ * are forced to disk before they are reported as saved.
+ * <p>
+ * The data file is stored in a {@link TaskFormat}: the human-readable text format
+ * by default, or a compact binary format for files ending in <code>.bin</code>.
+ * <p>
+ * Once {@link #startBackgroundWriter()} has been called, recording a change only queues it
+ * and returns. A background thread writes whatever has queued up since its last write in one
+ * go, so a burst of changes costs a single journal append, or a single save, and a single
+ * sync. {@link #flush()} waits until everything queued so far has been written.
+ * <p>
+ * Between {@link #deferWrites()} and {@link #writeDeferred(TaskList)}, changes are only counted,
+ * and the task list is saved once at the end, so a batch of commands costs a single write.
+ * Deferring can be nested, and {@link #discardDeferred()} drops the changes held back instead,
+ * which lets a transaction that is rolled back skip writing altogether.
  */
 
-public class TaskStorage {
+public class TaskStorage implements AutoCloseable {
+    /** Number of journal records after which the journal is folded into the data file. */
+    public static final int COMPACTION_THRESHOLD = 200;
+
+    /** Time the background writer waits before trying a failed write again, in milliseconds. */
+    public static final long WRITE_RETRY_MILLIS = 1000;
+
+    /** Size in bytes above which {@link #loadTaskList()} maps the data file instead of reading it. */
+    public static final long MAPPED_LOAD_THRESHOLD = 16L * 1024 * 1024;
+
     private final Path filePath;
-    private static final String DELIMITER = " \\| ";
-    private static final int MIN_FIELDS = 3;
-    private static final int TYPE_INDEX = 0;
-    private static final int DONE_INDEX = 1;
-    private static final int DESC_INDEX = 2;
+    private final TaskJournal journal;
+    private final boolean isJournaled;
+    private final DurabilityPolicy durabilityPolicy;
+    private final TaskFormat format;
+    private final TextTaskFormat journalFormat = new TextTaskFormat();
+
+    private static final String RECORD_ADD = "A";
+    private static final String RECORD_MARK = "M";
+    private static final String RECORD_UNMARK = "U";
+    private static final String RECORD_DELETE = "X";
+    private static final String RECORD_SEPARATOR = " | ";
+
+    private int generation;
+    private String snapshotDigest = TaskJournal.digest(ByteBuffer.allocate(0));
+    private volatile MappedTasks mappedTasks;
+    private volatile String lastKnownFileState;
+    private volatile String lastKnownJournalState;
+
+    private final Object writeLock = new Object();
+    private Thread backgroundWriter;
+    private Thread shutdownHook;
+    private boolean isClosing;
+    private boolean isWriting;
+    private List<Task> pendingSnapshot;
+    private List<String> pendingRecords = new ArrayList<>();
+    private List<Task> latestSnapshot;
+    private int unsavedRecordCount;
+    private long requestedWrites;
+    private long completedWrites;
+    private long queuedChangeCount;
+    private long diskWriteCount;
+    private long totalWriteNanos;
+    private long maxWriteNanos;
+    private int deferDepth;
+    private int deferredChangeCount;
+    private long failedWriteCount;
+    private boolean isSnapshotNeeded;
 
     /**
-     * Constructs a TaskStorage object for the given file path.
+     * Constructs a journaled TaskStorage object for the given file path.
      * Ensures that the data file and its parent directories exist.
      *
      * @param filePath the path to the storage file
      */
     public TaskStorage(String filePath) {
+        this(filePath, true);
+    }
+
+    /**
+     * Constructs a TaskStorage object for the given file path.
+     * Ensures that the data file and its parent directories exist.
+     *
+     * @param filePath    the path to the storage file
+     * @param isJournaled whether changes are appended to a journal instead of rewriting the file
+     */
+    public TaskStorage(String filePath, boolean isJournaled) {
+        this(filePath, isJournaled, DurabilityPolicy.always());
+    }
+
+    /**
+     * Constructs a TaskStorage object for the given file path and durability policy.
+     * Ensures that the data file and its parent directories exist.
+     *
+     * @param filePath         the path to the storage file
+     * @param isJournaled      whether changes are appended to a journal instead of rewriting the file
+     * @param durabilityPolicy how eagerly writes are forced to disk
+     */
+    public TaskStorage(String filePath, boolean isJournaled, DurabilityPolicy durabilityPolicy) {
+        this(filePath, isJournaled, durabilityPolicy, TaskFormat.forFile(Paths.get(filePath)));
+    }
+
+    /**
+     * Constructs a TaskStorage object for the given file path, durability policy and file format.
+     * Ensures that the data file and its parent directories exist.
+     *
+     * @param filePath         the path to the storage file
+     * @param isJournaled      whether changes are appended to a journal instead of rewriting the file
+     * @param durabilityPolicy how eagerly writes are forced to disk
+     * @param format           the format the data file is stored in
+     */
+    public TaskStorage(String filePath, boolean isJournaled, DurabilityPolicy durabilityPolicy, TaskFormat format) {
         this.filePath = Paths.get(filePath);
+        this.isJournaled = isJournaled;
+        this.durabilityPolicy = durabilityPolicy;
+        this.format = format;
+        this.journal = new TaskJournal(this.filePath.resolveSibling(this.filePath.getFileName() + ".journal"));
 
         try {
             ensureDataFileExists();
@@ -66,102 +176,309 @@ public class TaskStorage {
         if (!Files.exists(filePath)) {
             Files.createFile(filePath);
         }
+
+        Files.deleteIfExists(getTempFilePath());
+    }
+
+    private Path getTempFilePath() {
+        return filePath.resolveSibling(filePath.getFileName() + ".tmp");
     }
 
     /**
      * Loads tasks from the storage file into a list of <code>Task</code> objects.
      * <p>
      * Tasks are parsed according to their type: <code>Todo</code>, <code>Deadline</code> or <code>Event</code>.
-     * Completed tasks are marked as done.
+     * Completed tasks are marked as done. Any journal records written since the
+     * file was last saved are replayed on top of the loaded tasks.
      * </p>
      *
      * @return List of tasks loaded from the file.
      */
     public ArrayList<Task> loadTasksFromFile() {
+        flush();
         ArrayList<Task> loadedTasks = new ArrayList<>();
+        generation = 0;
+        snapshotDigest = TaskJournal.digest(ByteBuffer.allocate(0));
 
-        try (Scanner scanner = new Scanner(filePath)) {
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                if (isEmptyOrComment(line)) {
-                    continue;
-                }
-
-                try {
-                    Task task = parseTaskFromLine(line);
-                    if (task != null) {
-                        loadedTasks.add(task);
-                    }
-                } catch (AristoException e) {
-                    System.out.println("Skipping corrupted line: " + line);
-                }
-            }
+        try {
+            byte[] data = Files.readAllBytes(filePath);
+            generation = format.decodeGeneration(data);
+            snapshotDigest = TaskJournal.digest(ByteBuffer.wrap(data));
+            loadedTasks = format.decode(data);
         } catch (IOException e) {
             System.out.println("An error occurred while loading tasks! " + e.getMessage());
         }
 
+        replayJournal(loadedTasks);
+        rememberLoadedState();
         return loadedTasks;
     }
 
-    private boolean isEmptyOrComment(String line) {
-        return line.isEmpty() || line.startsWith("#");
+    /**
+     * Loads the tasks in the storage file into a TaskList, mapping the file into memory
+     * and decoding tasks lazily if it is larger than {@link #MAPPED_LOAD_THRESHOLD}.
+     *
+     * @return TaskList holding the tasks in the file.
+     */
+    public TaskList loadTaskList() {
+        try {
+            if (Files.size(filePath) > MAPPED_LOAD_THRESHOLD) {
+                return loadTaskListMapped();
+            }
+        } catch (IOException e) {
+            System.out.println("An error occurred while mapping tasks! " + e.getMessage());
+        }
+        return new TaskList(loadTasksFromFile());
+    }
+
+    /**
+     * Loads the tasks in the storage file into a TaskList by mapping the file into memory.
+     * <p>
+     * Only the position of each task in the file is read up front. A task is decoded the
+     * first time a command accesses it, so loading time and memory use depend on how many
+     * tasks are used rather than how many are stored. Journal records are replayed as usual,
+     * decoding only the tasks they touch.
+     * </p>
+     * <p>
+     * This only lasts until the first snapshot is written, on compaction or a full save: writing
+     * it decodes every task, after which the list takes as much memory as an eager load.
+     * </p>
+     *
+     * @return TaskList holding the tasks in the file.
+     * @throws IOException if the file cannot be mapped.
+     */
+    public TaskList loadTaskListMapped() throws IOException {
+        MappedTasks tasks = new MappedTasks(format, mapDataFile());
+        mappedTasks = tasks;
+        replayJournal(tasks);
+        rememberLoadedState();
+        return TaskList.backedBy(tasks);
     }
 
-    private boolean isValidTaskFormat(String[] parts) {
-        return parts.length >= MIN_FIELDS;
+    /**
+     * Loads the tasks in the storage file into a TaskList that keeps them packed in primitive
+     * arrays, as a {@link PackedTasks}.
+     * <p>
+     * Every task is decoded up front, but only long enough to be packed, so the list takes a
+     * fraction of the memory of one object per task however many of its tasks are used. Journal
+     * records are replayed as usual, and corrupted task records are skipped.
+     * </p>
+     * <p>
+     * {@link #loadTaskList()} does not use this. Packed loading is only used by the memory
+     * benchmarks and tests, to compare it with the eager and mapped loads.
+     * </p>
+     *
+     * @return TaskList holding the tasks in the file.
+     * @throws IOException if the file cannot be mapped.
+     */
+    public TaskList loadTaskListPacked() throws IOException {
+        ByteBuffer data = mapDataFile();
+        PackedTasks tasks = new PackedTasks();
+        for (int offset : format.findRecordOffsets(data)) {
+            try {
+                tasks.add(format.decodeRecord(data, offset));
+            } catch (AristoException e) {
+                System.out.println("Skipping corrupted task record at byte " + offset + ": " + e.getMessage());
+            }
+        }
+        MappedFiles.unmap(data);
+
+        replayJournal(tasks);
+        tasks.trimToSize();
+        rememberLoadedState();
+        return TaskList.backedBy(tasks);
     }
 
-    private boolean parseIsDone(String doneField) throws AristoException {
-        if (doneField.equals("1")) {
-            return true;
-        } else if (doneField.equals("0")) {
-            return false;
-        } else {
-            throw new AristoException("Task's done status is invalid!");
+    /**
+     * Maps the storage file into memory, after flushing pending writes, and reads its generation.
+     * Only the length of the file is used to check its journal, since a checksum would read every
+     * page of the file and undo the point of mapping it.
+     */
+    private MappedByteBuffer mapDataFile() throws IOException {
+        flush();
+        MappedByteBuffer data;
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        byte[] header = new byte[Math.min(data.limit(), 64)];
+        data.get(0, header);
+        generation = format.decodeGeneration(header);
+        snapshotDigest = TaskJournal.digest(data.limit());
+        return data;
+    }
+
+    /**
+     * Applies the journal records of the current generation to the given tasks.
+     */
+    private void replayJournal(List<Task> tasks) {
+        try {
+            for (String record : journal.readRecords(generation, snapshotDigest)) {
+                try {
+                    applyRecord(tasks, record);
+                } catch (AristoException | RuntimeException e) {
+                    System.out.println("Skipping corrupted journal record: " + record);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("An error occurred while reading the journal! " + e.getMessage());
+        } catch (AristoException e) {
+            System.out.println(e.getMessage());
         }
     }
 
-    private Task parseTaskFromLine(String line) throws AristoException {
-        String[] parts = line.split(DELIMITER);
+    private void applyRecord(List<Task> tasks, String record) throws AristoException {
+        int separator = record.indexOf(RECORD_SEPARATOR);
+        if (separator < 0) {
+            throw new AristoException("Journal record is incomplete!");
+        }
+        String[] parts = {record.substring(0, separator), record.substring(separator + RECORD_SEPARATOR.length())};
 
-        if (!isValidTaskFormat(parts)) {
-            return null;
+        switch (parts[0]) {
+        case RECORD_ADD:
+            Task task = journalFormat.parseLine(parts[1]);
+            if (task == null) {
+                throw new AristoException("Journal record holds an invalid task!");
+            }
+            tasks.add(task);
+            break;
+        case RECORD_MARK:
+            tasks.get(Integer.parseInt(parts[1]) - 1).markAsDone();
+            break;
+        case RECORD_UNMARK:
+            tasks.get(Integer.parseInt(parts[1]) - 1).markAsNotDone();
+            break;
+        case RECORD_DELETE:
+            tasks.remove(Integer.parseInt(parts[1]) - 1);
+            break;
+        default:
+            throw new AristoException("Unknown journal record type!");
         }
+    }
 
-        String taskType = parts[TYPE_INDEX];
-        boolean isDone = parseIsDone(parts[DONE_INDEX]);
-        String description = parts[DESC_INDEX];
+    /**
+     * Returns whether the storage file has been modified by someone other than this storage
+     * since it was last loaded or saved.
+     * <p>
+     * Only the file's modification time and size are compared, so this check costs a single
+     * <code>stat</code> call regardless of how many tasks the file holds.
+     * </p>
+     *
+     * @return true if the file on disk no longer matches the last state seen by this storage.
+     */
+    public boolean hasChangedExternally() {
+        synchronized (writeLock) {
+            if (isWriting || completedWrites < requestedWrites) {
+                return false;
+            }
+            return !describeFileState(filePath).equals(lastKnownFileState)
+                    || !describeFileState(journal.getPath()).equals(lastKnownJournalState);
+        }
+    }
 
-        Task task = createTaskByType(taskType, parts, description);
+    private void rememberLoadedState() {
+        rememberFileState();
+        synchronized (writeLock) {
+            unsavedRecordCount = journal.getRecordCount();
+        }
+    }
 
-        if (task != null && isDone) {
-            task.markAsDone();
+    /**
+     * Records the current modification time and size of the storage file and its journal.
+     */
+    private void rememberFileState() {
+        lastKnownFileState = describeFileState(filePath);
+        lastKnownJournalState = describeFileState(journal.getPath());
+    }
+
+    private static String describeFileState(Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return attributes.lastModifiedTime() + "/" + attributes.size();
+        } catch (IOException e) {
+            return "missing";
         }
+    }
 
-        return task;
+    /**
+     * Records that the given task was added to the end of the task list.
+     *
+     * @param taskList TaskList the task was added to.
+     * @param task     The task that was added.
+     */
+    public void recordAdd(TaskList taskList, Task task) {
+        recordChange(taskList, RECORD_ADD + RECORD_SEPARATOR + task.toFileString());
     }
 
     /**
-     * Creates a Task object based on type and parts array.
+     * Records that the task at the given index was marked as done.
+     *
+     * @param taskList TaskList containing the task.
+     * @param index    1-based index of the marked task.
      */
-    private Task createTaskByType(String taskType, String[] parts, String description) throws AristoException {
-        switch (taskType) {
-        case "T":
-            return new Todo(description);
+    public void recordMark(TaskList taskList, int index) {
+        recordChange(taskList, RECORD_MARK + RECORD_SEPARATOR + index);
+    }
 
-        case "D":
-            if (parts.length >= 4) {
-                return new Deadline(description, parts[3]);
+    /**
+     * Records that the task at the given index was marked as not done.
+     *
+     * @param taskList TaskList containing the task.
+     * @param index    1-based index of the unmarked task.
+     */
+    public void recordUnmark(TaskList taskList, int index) {
+        recordChange(taskList, RECORD_UNMARK + RECORD_SEPARATOR + index);
+    }
+
+    /**
+     * Records that the task at the given index was deleted.
+     *
+     * @param taskList TaskList the task was removed from.
+     * @param index    1-based index the task had before it was removed.
+     */
+    public void recordDelete(TaskList taskList, int index) {
+        recordChange(taskList, RECORD_DELETE + RECORD_SEPARATOR + index);
+    }
+
+    /**
+     * Persists a single change, either as a journal record or by saving the whole task list.
+     */
+    private void recordChange(TaskList taskList, String record) {
+        synchronized (writeLock) {
+            if (deferDepth > 0) {
+                deferredChangeCount++;
+                return;
             }
-            return null;
+        }
 
-        case "E":
-            String from = (parts.length > 3) ? parts[3] : "";
-            String to = (parts.length > 4) ? parts[4] : "";
-            return new Event(description, from, to);
+        if (isWritingInBackground()) {
+            queueChange(taskList, record);
+            return;
+        }
 
-        default:
-            return null;
+        if (!isJournaled || isSnapshotNeeded()) {
+            saveTasksToFile(taskList);
+            return;
+        }
+
+        try {
+            journal.append(generation, snapshotDigest, record, durabilityPolicy.shouldSync());
+        } catch (IOException e) {
+            System.out.println("Error writing to journal! " + e.getMessage());
+            saveTasksToFile(taskList);
+            return;
+        }
+
+        // The journal already holds the change, so a failed compaction is simply tried again later.
+        if (journal.getRecordCount() >= COMPACTION_THRESHOLD) {
+            writeSnapshot(taskList.snapshot());
+        }
+        rememberFileState();
+    }
+
+    private boolean isSnapshotNeeded() {
+        synchronized (writeLock) {
+            return isSnapshotNeeded;
         }
     }
 
@@ -169,27 +486,440 @@ public class TaskStorage {
      * Saves the given task list into the storage file.
      * <p>
      * Each Task is converted to its file string representation before writing to the file.
+     * The saved file starts a new generation, so any existing journal is discarded.
+     * </p>
+     * <p>
+     * If the file cannot be written, later changes are not journaled on top of the old file,
+     * since the changes saved here would be missing underneath them. Instead, every later change
+     * tries to save the whole list again until it succeeds, and {@link #flush()} reports the
+     * changes as unsaved until then.
      * </p>
      *
      * @param taskList TaskList containing the tasks to be saved.
      */
     public void saveTasksToFile(TaskList taskList) {
+        if (isWritingInBackground()) {
+            synchronized (writeLock) {
+                queueSnapshot(taskList.snapshot());
+            }
+            return;
+        }
+
+        if (!writeSnapshot(taskList.snapshot())) {
+            synchronized (writeLock) {
+                isSnapshotNeeded = true;
+            }
+        }
+        rememberFileState();
+    }
+
+    /**
+     * Writes the given tasks as a new snapshot and starts a new journal for it.
+     *
+     * @return whether the snapshot was written; if not, the old snapshot and journal are left as they were
+     */
+    private boolean writeSnapshot(List<Task> tasks) {
         try {
-            ArrayList<String> lines = convertTasksToFileFormat(taskList);
-            Files.write(filePath, lines);
+            byte[] contents = format.encode(tasks, generation + 1);
+            releaseMappedTasks();
+            writeAtomically(filePath, contents);
+            generation++;
+            snapshotDigest = TaskJournal.digest(ByteBuffer.wrap(contents));
+            journal.reset();
+            synchronized (writeLock) {
+                isSnapshotNeeded = false;
+            }
+            return true;
         } catch (IOException e) {
             System.out.println("Error writing to data file! " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Unmaps the data file if tasks were loaded from a mapping of it, since a file that is
+     * still mapped cannot be replaced on every platform.
+     */
+    private void releaseMappedTasks() {
+        MappedTasks tasks = mappedTasks;
+        if (tasks != null) {
+            tasks.releaseData();
+            mappedTasks = null;
+        }
+    }
+
+    /**
+     * Holds back every change recorded from now on until the matching call to
+     * {@link #writeDeferred(TaskList)}, or until {@link #discardDeferred()} is called.
+     * <p>
+     * Changes held back are in neither the data file nor its journal, so they are lost if the
+     * process dies before they are written.
+     */
+    public void deferWrites() {
+        synchronized (writeLock) {
+            deferDepth++;
+        }
+    }
+
+    /**
+     * Ends the latest call to {@link #deferWrites()}. If it was the outermost one, stops holding
+     * back changes and saves the given task list once, if any change was recorded in the meantime.
+     *
+     * @param taskList TaskList holding every change that was held back.
+     * @return the number of changes that were held back and are now written.
+     */
+    public int writeDeferred(TaskList taskList) {
+        int changeCount;
+        synchronized (writeLock) {
+            deferDepth = Math.max(deferDepth - 1, 0);
+            if (deferDepth > 0) {
+                return 0;
+            }
+            changeCount = deferredChangeCount;
+            queuedChangeCount += changeCount;
+            deferredChangeCount = 0;
+        }
+
+        if (changeCount > 0) {
+            saveTasksToFile(taskList);
+        }
+        return changeCount;
+    }
+
+    /**
+     * Stops holding back changes, at every level of nesting, and forgets the changes held back
+     * without writing anything. The task list in memory must already be back to its last
+     * written state.
+     */
+    public void discardDeferred() {
+        synchronized (writeLock) {
+            deferDepth = 0;
+            deferredChangeCount = 0;
+        }
+    }
+
+    /**
+     * Starts a background thread that performs all further writes, so that recording a change
+     * or saving the task list no longer waits for the disk.
+     * <p>
+     * Changes that are queued but not yet written are lost if the process dies, so callers
+     * should {@link #flush()} before exiting. A shutdown hook flushes on a normal JVM exit.
+     */
+    public void startBackgroundWriter() {
+        synchronized (writeLock) {
+            if (backgroundWriter != null) {
+                return;
+            }
+
+            unsavedRecordCount = journal.getRecordCount();
+            backgroundWriter = new Thread(this::runBackgroundWriter, "aristo-storage-writer");
+            backgroundWriter.setDaemon(true);
+            backgroundWriter.start();
+            shutdownHook = new Thread(this::flush, "aristo-storage-flush");
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        }
+    }
+
+    private boolean isWritingInBackground() {
+        synchronized (writeLock) {
+            return backgroundWriter != null;
+        }
+    }
+
+    /**
+     * Queues a journal record for the background writer, or a full save once enough records have
+     * piled up since the last one.
+     * <p>
+     * The snapshot saved is taken here, right after the change was applied and before any later
+     * one, so that it matches the journal records queued before and after it exactly.
+     */
+    private void queueChange(TaskList taskList, String record) {
+        synchronized (writeLock) {
+            List<Task> snapshot = taskList.snapshot();
+            latestSnapshot = snapshot;
+            queuedChangeCount++;
+            unsavedRecordCount++;
+
+            if (!isJournaled || unsavedRecordCount >= COMPACTION_THRESHOLD) {
+                queueSnapshot(snapshot);
+                return;
+            }
+
+            pendingRecords.add(record);
+            requestedWrites++;
+            writeLock.notifyAll();
+        }
+    }
+
+    /**
+     * Queues a full save of the given snapshot, which replaces any journal records still queued.
+     * Must be called while holding the write lock.
+     */
+    private void queueSnapshot(List<Task> snapshot) {
+        pendingSnapshot = snapshot;
+        latestSnapshot = snapshot;
+        pendingRecords.clear();
+        unsavedRecordCount = 0;
+        requestedWrites++;
+        writeLock.notifyAll();
+    }
+
+    private boolean hasPendingWrites() {
+        return pendingSnapshot != null || !pendingRecords.isEmpty();
+    }
+
+    private void runBackgroundWriter() {
+        while (true) {
+            List<Task> snapshot;
+            List<String> records;
+            List<Task> fallbackSnapshot;
+            long writeNumber;
+
+            synchronized (writeLock) {
+                while (!hasPendingWrites() && !isClosing) {
+                    try {
+                        writeLock.wait();
+                    } catch (InterruptedException e) {
+                        isClosing = true;
+                    }
+                }
+                if (!hasPendingWrites()) {
+                    return;
+                }
+
+                snapshot = pendingSnapshot;
+                records = pendingRecords;
+                fallbackSnapshot = latestSnapshot;
+                writeNumber = requestedWrites;
+                pendingSnapshot = null;
+                pendingRecords = new ArrayList<>();
+                isWriting = true;
+            }
+
+            long start = System.nanoTime();
+            boolean isWritten = false;
+            try {
+                isWritten = writePending(snapshot, records, fallbackSnapshot);
+            } catch (RuntimeException e) {
+                System.out.println("Error writing tasks in the background! " + e.getMessage());
+            }
+            long elapsed = System.nanoTime() - start;
+
+            synchronized (writeLock) {
+                rememberFileState();
+                isWriting = false;
+                diskWriteCount++;
+                totalWriteNanos += elapsed;
+                maxWriteNanos = Math.max(maxWriteNanos, elapsed);
+                if (isWritten) {
+                    completedWrites = writeNumber;
+                } else {
+                    requeueFailedWrite(fallbackSnapshot);
+                }
+                writeLock.notifyAll();
+
+                if (!isWritten && !waitBeforeRetrying()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues the latest snapshot of a batch that could not be written, unless a newer snapshot is
+     * already queued, so that the records of the batch are written as part of it. The records are
+     * not appended on their own, since the snapshot they follow may be the one that failed.
+     * Must be called while holding the write lock.
+     */
+    private void requeueFailedWrite(List<Task> fallbackSnapshot) {
+        failedWriteCount++;
+        if (pendingSnapshot == null) {
+            pendingSnapshot = fallbackSnapshot;
         }
     }
 
     /**
-     * Converts a TaskList into an ArrayList of Strings.
+     * Waits a while before a failed write is tried again. Must be called while holding the write lock.
+     *
+     * @return false if the writer is closing and should give up instead
      */
-    private ArrayList<String> convertTasksToFileFormat(TaskList taskList) {
-        ArrayList<String> lines = new ArrayList<>();
-        for (Task task : taskList.asList()) {
-            lines.add(task.toFileString());
+    private boolean waitBeforeRetrying() {
+        if (!isClosing) {
+            try {
+                writeLock.wait(WRITE_RETRY_MILLIS);
+            } catch (InterruptedException e) {
+                isClosing = true;
+            }
         }
-        return lines;
+        if (isClosing) {
+            System.out.println("Giving up on writing the latest changes! They are only kept in memory.");
+            pendingSnapshot = null;
+            pendingRecords = new ArrayList<>();
+            isSnapshotNeeded = true;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes one batch taken from the queue: the queued snapshot, if any, then the journal
+     * records queued after it. If the journal cannot be written, the latest snapshot, which
+     * includes every record of the batch, is saved instead.
+     *
+     * @return whether the whole batch was written
+     */
+    private boolean writePending(List<Task> snapshot, List<String> records, List<Task> fallbackSnapshot) {
+        if (snapshot != null && !writeSnapshot(snapshot)) {
+            return false;
+        }
+        if (records.isEmpty()) {
+            return true;
+        }
+
+        try {
+            journal.appendAll(generation, snapshotDigest, records, durabilityPolicy.shouldSync());
+            return true;
+        } catch (IOException e) {
+            System.out.println("Error writing to journal! " + e.getMessage());
+            return writeSnapshot(fallbackSnapshot);
+        }
+    }
+
+    /**
+     * Waits until every change queued so far has been written by the background writer, or until
+     * writing one of them fails. Returns immediately if there is no background writer.
+     *
+     * @return whether every change recorded so far is in the data file or its journal
+     */
+    public boolean flush() {
+        synchronized (writeLock) {
+            long target = requestedWrites;
+            long failuresBefore = failedWriteCount;
+            while (completedWrites < target && failedWriteCount == failuresBefore
+                    && backgroundWriter != null && backgroundWriter.isAlive()) {
+                try {
+                    writeLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return completedWrites >= target && !isSnapshotNeeded;
+        }
+    }
+
+    /**
+     * Writes everything still queued and stops the background writer, if there is one.
+     * Later changes are written directly again.
+     */
+    @Override
+    public void close() {
+        Thread writer;
+        synchronized (writeLock) {
+            writer = backgroundWriter;
+            if (writer == null) {
+                return;
+            }
+            isClosing = true;
+            writeLock.notifyAll();
+        }
+
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (writeLock) {
+            backgroundWriter = null;
+            isClosing = false;
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // The JVM is already shutting down and running the hook.
+            }
+        }
+    }
+
+    /**
+     * Returns a summary of how many changes were queued and how long the background writer
+     * spent writing them, which is time commands no longer wait for.
+     */
+    public String getWriteStatistics() {
+        synchronized (writeLock) {
+            double meanMicros = diskWriteCount == 0 ? 0 : totalWriteNanos / 1e3 / diskWriteCount;
+            return String.format("%d changes written in %d writes, mean write %.0f us, max write %.0f us",
+                    queuedChangeCount, diskWriteCount, meanMicros, maxWriteNanos / 1e3);
+        }
+    }
+
+    /**
+     * Writes the given contents to a temporary file and then renames it over the target file.
+     * When the durability policy forces the write, the directory is forced after the rename too,
+     * since the new file is only reachable once its directory entry is on disk.
+     */
+    private void writeAtomically(Path targetPath, byte[] contents) throws IOException {
+        boolean isSynced = durabilityPolicy.shouldSync();
+        Path tempFilePath = targetPath.resolveSibling(targetPath.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempFilePath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(contents);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (isSynced) {
+                channel.force(false);
+            }
+        }
+
+        try {
+            Files.move(tempFilePath, targetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFilePath, targetPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (isSynced) {
+            forceDirectory(targetPath.toAbsolutePath().getParent());
+        }
+    }
+
+    /**
+     * Forces the given directory to disk, so that a file renamed into it stays renamed after a power loss.
+     * Some platforms, such as Windows, cannot open directories; there the rename is left to the file system.
+     */
+    private static void forceDirectory(Path directory) throws IOException {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException | UnsupportedOperationException e) {
+            // The directory cannot be opened for syncing on this platform.
+        }
+    }
+
+    /**
+     * Reads the tasks stored in another data file, choosing its format from its file extension.
+     * <p>
+     * This lets tasks be brought over between the text and binary formats. Journals
+     * belonging to the other file are not replayed.
+     * </p>
+     *
+     * @param sourcePath the data file to read
+     * @return the tasks stored in the file
+     * @throws IOException if the file cannot be read
+     */
+    public static ArrayList<Task> importTasks(Path sourcePath) throws IOException {
+        return TaskFormat.forFile(sourcePath).decode(Files.readAllBytes(sourcePath));
+    }
+
+    /**
+     * Writes the given tasks to another data file, choosing its format from its file extension.
+     *
+     * @param taskList   TaskList containing the tasks to export
+     * @param targetPath the data file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void exportTasks(TaskList taskList, Path targetPath) throws IOException {
+        writeAtomically(targetPath, TaskFormat.forFile(targetPath).encode(taskList.snapshot(), 0));
     }
 }
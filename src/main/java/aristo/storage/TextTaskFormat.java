@@ -0,0 +1,410 @@
+package aristo.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+
+import aristo.exception.AristoException;
+import aristo.parser.DateCache;
+import aristo.task.Deadline;
+import aristo.task.Event;
+import aristo.task.Task;
+import aristo.task.Todo;
+
+/**
+ * Represents the human-readable data file format, with one task per line and fields
+ * separated by <code>" | "</code>, as produced by {@link Task#toFileString()}.
+ * <p>
+ * Empty lines and lines starting with <code>#</code> are ignored, except for a leading
+ * generation header.
+ * <p>
+ * Lines are split on the delimiter and dates are read digit by digit, without regular
+ * expressions, since loading a large file parses every line. Files of several megabytes are
+ * split into newline-aligned chunks that are decoded in parallel on the common
+ * <code>ForkJoinPool</code> and joined back in file order.
+ */
+public class TextTaskFormat implements TaskFormat {
+    static final int PARALLEL_THRESHOLD_BYTES = 4 << 20;
+    private static final int CHUNK_BYTES = 1 << 20;
+    private static final String DELIMITER = " | ";
+    private static final int MAX_FIELDS = 5;
+    private static final int MIN_FIELDS = 3;
+    private static final int TYPE_INDEX = 0;
+    private static final int DONE_INDEX = 1;
+    private static final int DESC_INDEX = 2;
+
+    @Override
+    public byte[] encode(List<Task> tasks, int generation) {
+        StringBuilder content = new StringBuilder();
+        content.append(TaskJournal.generationHeader(generation)).append(System.lineSeparator());
+        for (Task task : tasks) {
+            content.append(task.toFileString()).append(System.lineSeparator());
+        }
+        return content.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public ArrayList<Task> decode(byte[] data) {
+        List<ForkJoinTask<DecodedChunk>> chunks = new ArrayList<>();
+        int chunkStart = 0;
+        while (chunkStart < data.length) {
+            int start = chunkStart;
+            int end = findChunkEnd(data, start);
+            chunks.add(ForkJoinTask.adapt(() -> decodeChunk(data, start, end)));
+            chunkStart = end;
+        }
+
+        if (chunks.size() == 1) {
+            chunks.get(0).invoke();
+        } else {
+            ForkJoinTask.invokeAll(chunks);
+        }
+        return joinChunks(chunks);
+    }
+
+    /**
+     * Returns where the chunk starting at the given position should end: just after the first
+     * newline at least {@link #CHUNK_BYTES} further on, or at the end of the data. Files below
+     * {@link #PARALLEL_THRESHOLD_BYTES} are decoded as a single chunk.
+     */
+    private static int findChunkEnd(byte[] data, int start) {
+        if (data.length < PARALLEL_THRESHOLD_BYTES || data.length - start <= CHUNK_BYTES) {
+            return data.length;
+        }
+
+        for (int position = start + CHUNK_BYTES; position < data.length; position++) {
+            if (data[position] == '\n') {
+                return position + 1;
+            }
+        }
+        return data.length;
+    }
+
+    /**
+     * Concatenates the tasks of the given decoded chunks in file order, reporting every
+     * corrupted line with its line number in the whole file.
+     */
+    private static ArrayList<Task> joinChunks(List<ForkJoinTask<DecodedChunk>> chunks) {
+        int taskCount = 0;
+        for (ForkJoinTask<DecodedChunk> chunk : chunks) {
+            taskCount += chunk.join().tasks.size();
+        }
+
+        ArrayList<Task> loadedTasks = new ArrayList<>(taskCount);
+        int firstLineNumber = 1;
+        for (ForkJoinTask<DecodedChunk> chunk : chunks) {
+            DecodedChunk decoded = chunk.join();
+            loadedTasks.addAll(decoded.tasks);
+            for (int i = 0; i < decoded.corruptedLines.size(); i++) {
+                int lineNumber = firstLineNumber + decoded.corruptedLineIndexes.get(i);
+                System.out.println("Skipping corrupted line " + lineNumber + ": " + decoded.corruptedLines.get(i));
+            }
+            firstLineNumber += decoded.lineCount;
+        }
+        return loadedTasks;
+    }
+
+    /**
+     * Decodes the lines between the given positions, which must start a line and end just after
+     * a newline or at the end of the data.
+     */
+    private DecodedChunk decodeChunk(byte[] data, int start, int end) {
+        DecodedChunk decoded = new DecodedChunk();
+        String content = new String(data, start, end - start, StandardCharsets.UTF_8);
+        String[] fields = new String[MAX_FIELDS];
+
+        int lineStart = 0;
+        while (lineStart < content.length()) {
+            int lineEnd = findLineEnd(content, lineStart);
+            String line = content.substring(lineStart, lineEnd);
+            lineStart = skipLineTerminator(content, lineEnd);
+            int lineIndex = decoded.lineCount++;
+            if (isEmptyOrComment(line)) {
+                continue;
+            }
+
+            try {
+                Task task = parseFields(fields, splitFields(line, fields));
+                if (task != null) {
+                    decoded.tasks.add(task);
+                }
+            } catch (AristoException e) {
+                decoded.corruptedLineIndexes.add(lineIndex);
+                decoded.corruptedLines.add(line);
+            }
+        }
+
+        return decoded;
+    }
+
+    @Override
+    public int decodeGeneration(byte[] data) {
+        int lineEnd = 0;
+        while (lineEnd < data.length && data[lineEnd] != '\n') {
+            lineEnd++;
+        }
+        String firstLine = new String(data, 0, lineEnd, StandardCharsets.UTF_8).strip();
+        return Math.max(TaskJournal.parseGeneration(firstLine), 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Each line is parsed as it is found, so that the lines {@link #decode} would skip are
+     * skipped here too and the corrupted ones reported the same way. Only the offsets are kept.
+     */
+    @Override
+    public int[] findRecordOffsets(ByteBuffer data) {
+        int[] offsets = new int[16];
+        int count = 0;
+        String[] fields = new String[MAX_FIELDS];
+        int lineNumber = 0;
+        int lineStart = 0;
+        int limit = data.limit();
+
+        while (lineStart < limit) {
+            int lineEnd = findLineEnd(data, lineStart);
+            String line = readLine(data, lineStart, lineEnd);
+            lineNumber++;
+            if (!isEmptyOrComment(line) && isValidRecord(line, lineNumber, fields)) {
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                offsets[count++] = lineStart;
+            }
+            lineStart = lineEnd + 1;
+        }
+        return Arrays.copyOf(offsets, count);
+    }
+
+    private boolean isValidRecord(String line, int lineNumber, String[] fields) {
+        try {
+            return parseFields(fields, splitFields(line, fields)) != null;
+        } catch (AristoException e) {
+            System.out.println("Skipping corrupted line " + lineNumber + ": " + line);
+            return false;
+        }
+    }
+
+    @Override
+    public Task decodeRecord(ByteBuffer data, int offset) throws AristoException {
+        String line = readLine(data, offset, findLineEnd(data, offset));
+        Task task = parseLine(line);
+        if (task == null) {
+            throw new AristoException("Line is not a valid task: " + line);
+        }
+        return task;
+    }
+
+    /**
+     * Returns the line between the given positions, without a trailing <code>\r</code>.
+     */
+    private static String readLine(ByteBuffer data, int start, int end) {
+        int length = end - start;
+        if (length > 0 && data.get(end - 1) == '\r') {
+            length--;
+        }
+
+        byte[] bytes = new byte[length];
+        data.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the position of the line terminator (<code>\n</code>, <code>\r</code> or
+     * <code>\r\n</code>) ending the line that starts at the given position.
+     */
+    private static int findLineEnd(String content, int start) {
+        int position = start;
+        while (position < content.length()) {
+            char c = content.charAt(position);
+            if (c == '\n' || c == '\r') {
+                break;
+            }
+            position++;
+        }
+        return position;
+    }
+
+    private static int skipLineTerminator(String content, int lineEnd) {
+        if (lineEnd + 1 < content.length() && content.charAt(lineEnd) == '\r' && content.charAt(lineEnd + 1) == '\n') {
+            return lineEnd + 2;
+        }
+        return lineEnd + 1;
+    }
+
+    private static int findLineEnd(ByteBuffer data, int start) {
+        int position = start;
+        while (position < data.limit() && data.get(position) != '\n') {
+            position++;
+        }
+        return position;
+    }
+
+    private boolean isEmptyOrComment(String line) {
+        return line.isEmpty() || line.startsWith("#");
+    }
+
+    /**
+     * Splits a line on the delimiter into the given array, with the same result as
+     * <code>line.split(" \\| ")</code> for the fields a task uses: trailing empty fields are
+     * dropped, and fields past the last one a task needs are ignored.
+     *
+     * @return the number of fields found
+     */
+    private static int splitFields(String line, String[] fields) {
+        int count = 0;
+        int fieldStart = 0;
+        int lastNonEmpty = 0;
+
+        while (count < fields.length) {
+            int fieldEnd = line.indexOf(DELIMITER, fieldStart);
+            boolean isLast = fieldEnd < 0;
+            if (isLast) {
+                fieldEnd = line.length();
+            }
+
+            fields[count++] = line.substring(fieldStart, fieldEnd);
+            if (fieldEnd > fieldStart) {
+                lastNonEmpty = count;
+            }
+            if (isLast) {
+                return lastNonEmpty;
+            }
+            fieldStart = fieldEnd + DELIMITER.length();
+        }
+
+        return hasNonEmptyField(line, fieldStart) ? count : lastNonEmpty;
+    }
+
+    /**
+     * Returns whether the fields from the given position onwards are anything other than empty.
+     */
+    private static boolean hasNonEmptyField(String line, int position) {
+        int current = position;
+        while (line.startsWith(DELIMITER, current)) {
+            current += DELIMITER.length();
+        }
+        return current < line.length();
+    }
+
+    private boolean parseIsDone(String doneField) throws AristoException {
+        if (doneField.equals("1")) {
+            return true;
+        } else if (doneField.equals("0")) {
+            return false;
+        } else {
+            throw new AristoException("Task's done status is invalid!");
+        }
+    }
+
+    /**
+     * Parses a single line of the text format into a task.
+     *
+     * @param line the line to parse
+     * @return the parsed task, or null if the line has too few fields or an unknown task type
+     * @throws AristoException if a field of the line is invalid
+     */
+    Task parseLine(String line) throws AristoException {
+        String[] fields = new String[MAX_FIELDS];
+        return parseFields(fields, splitFields(line, fields));
+    }
+
+    private Task parseFields(String[] parts, int fieldCount) throws AristoException {
+        if (fieldCount < MIN_FIELDS) {
+            return null;
+        }
+
+        String taskType = parts[TYPE_INDEX];
+        boolean isDone = parseIsDone(parts[DONE_INDEX]);
+        String description = parts[DESC_INDEX];
+
+        Task task = createTaskByType(taskType, parts, fieldCount, description);
+
+        if (task != null && isDone) {
+            task.markAsDone();
+        }
+
+        return task;
+    }
+
+    /**
+     * Creates a Task object based on type and parts array.
+     */
+    private Task createTaskByType(String taskType, String[] parts, int fieldCount, String description)
+            throws AristoException {
+        switch (taskType) {
+        case "T":
+            return new Todo(description);
+
+        case "D":
+            if (fieldCount >= 4) {
+                return new Deadline(description, parseStoredDate(parts[3]));
+            }
+            return null;
+
+        case "E":
+            String from = (fieldCount > 3) ? parts[3] : "";
+            String to = (fieldCount > 4) ? parts[4] : "";
+            return new Event(description, parseStoredDate(from), parseStoredDate(to));
+
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Parses a date stored in the <code>yyyy-MM-dd</code> format by reading its digits directly.
+     *
+     * @throws AristoException if the text is not a valid date in that format
+     */
+    private static LocalDate parseStoredDate(String text) throws AristoException {
+        if (text.length() != 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            throw new AristoException("Invalid stored date: '" + text + "'");
+        }
+
+        int year = parseDigits(text, 0, 4);
+        int month = parseDigits(text, 5, 7);
+        int day = parseDigits(text, 8, 10);
+        if (year < 0 || month < 0 || day < 0) {
+            throw new AristoException("Invalid stored date: '" + text + "'");
+        }
+
+        try {
+            return DateCache.of(year, month, day);
+        } catch (DateTimeException e) {
+            throw new AristoException("Invalid stored date: '" + text + "'");
+        }
+    }
+
+    /**
+     * Returns the number written by the ASCII digits between the given positions, or -1 if any is not a digit.
+     */
+    private static int parseDigits(String text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Represents the tasks decoded from one chunk of a data file, along with the corrupted lines
+     * it skipped, numbered from the start of the chunk.
+     */
+    private static class DecodedChunk {
+        private final ArrayList<Task> tasks = new ArrayList<>();
+        private final ArrayList<Integer> corruptedLineIndexes = new ArrayList<>();
+        private final ArrayList<String> corruptedLines = new ArrayList<>();
+        private int lineCount;
+    }
+}
@@ -0,0 +1,120 @@
+package aristo.task;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.TreeMap;
+
+/**
+ * Represents an index of the dates on which <code>Deadline</code> and <code>Event</code> tasks occur.
+ * <p>
+ * Deadlines are kept in a map sorted by due date. Events are grouped by length into buckets whose
+ * lengths lie between consecutive powers of two, and each bucket keeps its events sorted by start
+ * date. An event overlapping a date range must start no earlier than the longest length of its
+ * bucket before the range begins, so each bucket only looks at a short window of start dates, and
+ * most events in that window do overlap the range since their lengths are within a factor of two.
+ * <code>Todo</code> tasks never occur on a date and are not indexed.
+ */
+class DateIndex {
+    private final TreeMap<LocalDate, SortedIdList> deadlinesByDate = new TreeMap<>();
+    private final ArrayList<TreeMap<LocalDate, SortedIdList>> eventsByLengthBucket = new ArrayList<>();
+
+    /**
+     * Indexes the task with the given id if it occurs on any date.
+     */
+    void add(int id, Task task) {
+        if (task instanceof Deadline deadline) {
+            deadlinesByDate.computeIfAbsent(deadline.getBy(), key -> new SortedIdList()).add(id);
+        } else if (task instanceof Event event) {
+            int bucket = getLengthBucket(event);
+            while (eventsByLengthBucket.size() <= bucket) {
+                eventsByLengthBucket.add(new TreeMap<>());
+            }
+            eventsByLengthBucket.get(bucket).computeIfAbsent(event.getFrom(), key -> new SortedIdList()).add(id);
+        }
+    }
+
+    /**
+     * Removes the task with the given id from the index.
+     */
+    void remove(int id, Task task) {
+        if (task instanceof Deadline deadline) {
+            removeFrom(deadlinesByDate, deadline.getBy(), id);
+        } else if (task instanceof Event event) {
+            int bucket = getLengthBucket(event);
+            if (bucket < eventsByLengthBucket.size()) {
+                removeFrom(eventsByLengthBucket.get(bucket), event.getFrom(), id);
+            }
+        }
+    }
+
+    private static void removeFrom(TreeMap<LocalDate, SortedIdList> map, LocalDate date, int id) {
+        SortedIdList ids = map.get(date);
+        if (ids == null) {
+            return;
+        }
+
+        ids.remove(id);
+        if (ids.isEmpty()) {
+            map.remove(date);
+        }
+    }
+
+    /**
+     * Returns the bucket of the given event: 0 for single-day events, and otherwise the bucket
+     * {@code b} such that the event lasts between {@code 2^(b-1)} and {@code 2^b - 1} extra days.
+     */
+    private static int getLengthBucket(Event event) {
+        long length = ChronoUnit.DAYS.between(event.getFrom(), event.getTo());
+        return Long.SIZE - Long.numberOfLeadingZeros(length);
+    }
+
+    private static long getLongestLength(int bucket) {
+        return (1L << bucket) - 1;
+    }
+
+    /**
+     * Returns the ids of tasks that may occur between the given dates, inclusive.
+     * <p>
+     * Every task occurring in the range is returned, but some returned events may end before
+     * the range begins and must be checked by the caller.
+     *
+     * @param from the first date of the range
+     * @param to   the last date of the range
+     * @return the candidate ids in ascending order, without duplicates
+     */
+    int[] findCandidates(LocalDate from, LocalDate to) {
+        int[] candidates = new int[0];
+        int count = 0;
+
+        for (SortedIdList ids : deadlinesByDate.subMap(from, true, to, true).values()) {
+            candidates = append(candidates, count, ids);
+            count += ids.size();
+        }
+
+        for (int bucket = 0; bucket < eventsByLengthBucket.size(); bucket++) {
+            LocalDate earliestStart = from.minusDays(getLongestLength(bucket));
+            for (SortedIdList ids : eventsByLengthBucket.get(bucket).subMap(earliestStart, true, to, true).values()) {
+                candidates = append(candidates, count, ids);
+                count += ids.size();
+            }
+        }
+
+        int[] sorted = Arrays.copyOf(candidates, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static int[] append(int[] candidates, int count, SortedIdList ids) {
+        int[] result = candidates;
+        if (count + ids.size() > result.length) {
+            result = Arrays.copyOf(result, Math.max(result.length * 2, count + ids.size()));
+        }
+
+        for (int i = 0; i < ids.size(); i++) {
+            result[count + i] = ids.get(i);
+        }
+        return result;
+    }
+}
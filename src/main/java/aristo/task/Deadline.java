@@ -27,6 +27,17 @@ public class Deadline extends Task {
         this.by = Parser.parseDate(by);
     }
 
+    /**
+     * Constructs a Deadline task with a description and an already parsed deadline date.
+     *
+     * @param description the description of the task
+     * @param by the deadline date
+     */
+    public Deadline(String description, LocalDate by) {
+        super(description);
+        this.by = by;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -44,8 +55,20 @@ public class Deadline extends Task {
         return "D | " + isDone + " | " + this.description + " | " + by.format(INPUT_FORMATTER);
     }
 
+    /**
+     * Returns the deadline date of this task.
+     */
+    public LocalDate getBy() {
+        return by;
+    }
+
     @Override
     public boolean isOccurringOn(LocalDate date) {
         return by.equals(date);
     }
+
+    @Override
+    public boolean isOccurringBetween(LocalDate from, LocalDate to) {
+        return !by.isBefore(from) && !by.isAfter(to);
+    }
 }
@@ -25,9 +25,21 @@ public class Event extends Task {
      * @param to the end date of the event in the format "yyyy-MM-dd"
      */
     public Event(String description, String from, String to) throws AristoException {
+        this(description, Parser.parseDate(from), Parser.parseDate(to));
+    }
+
+    /**
+     * Constructs an Event task with a description and already parsed start and end dates.
+     *
+     * @param description the description of the event
+     * @param from the start date of the event
+     * @param to the end date of the event
+     * @throws AristoException if the end date is before the start date
+     */
+    public Event(String description, LocalDate from, LocalDate to) throws AristoException {
         super(description);
-        this.from = Parser.parseDate(from);
-        this.to = Parser.parseDate(to);
+        this.from = from;
+        this.to = to;
 
         if (this.to.isBefore(this.from)) {
             throw new AristoException("End date cannot be before start date. Please check your input.");
@@ -53,8 +65,27 @@ public class Event extends Task {
                 + " | " + to.format(INPUT_FORMATTER);
     }
 
+    /**
+     * Returns the start date of this event.
+     */
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    /**
+     * Returns the end date of this event.
+     */
+    public LocalDate getTo() {
+        return to;
+    }
+
     @Override
     public boolean isOccurringOn(LocalDate date) {
         return !date.isBefore(from) && !date.isAfter(to);
     }
+
+    @Override
+    public boolean isOccurringBetween(LocalDate rangeStart, LocalDate rangeEnd) {
+        return !to.isBefore(rangeStart) && !from.isAfter(rangeEnd);
+    }
 }
@@ -0,0 +1,95 @@
+package aristo.task;
+
+import java.util.HashMap;
+
+/**
+ * Represents an inverted index from three-character substrings (trigrams) of task
+ * descriptions to the ids of the tasks containing them.
+ * <p>
+ * Any description containing a keyword must also contain every trigram of that keyword,
+ * so intersecting the trigram postings narrows a search down to a small set of candidates.
+ * Candidates still have to be checked with {@link String#contains}, since a description can
+ * hold all the trigrams without holding the keyword itself.
+ */
+class KeywordIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final HashMap<String, SortedIdList> postings = new HashMap<>();
+
+    /**
+     * Indexes the description of the task with the given id.
+     */
+    void add(int id, String description) {
+        for (int i = 0; i + GRAM_LENGTH <= description.length(); i++) {
+            String gram = description.substring(i, i + GRAM_LENGTH);
+            postings.computeIfAbsent(gram, key -> new SortedIdList()).add(id);
+        }
+    }
+
+    /**
+     * Removes the description of the task with the given id from the index.
+     */
+    void remove(int id, String description) {
+        for (int i = 0; i + GRAM_LENGTH <= description.length(); i++) {
+            String gram = description.substring(i, i + GRAM_LENGTH);
+            SortedIdList ids = postings.get(gram);
+            if (ids == null) {
+                continue;
+            }
+
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Returns whether keywords of the given length can be answered by this index.
+     */
+    static boolean canSearch(String keyword) {
+        return keyword.length() >= GRAM_LENGTH;
+    }
+
+    /**
+     * Returns the ids of tasks whose descriptions contain every trigram of the keyword.
+     *
+     * @param keyword a keyword of at least three characters
+     * @return the candidate ids in ascending order
+     */
+    SortedIdList findCandidates(String keyword) {
+        assert canSearch(keyword) : "Keyword is too short to be searched through the index";
+
+        SortedIdList[] gramPostings = new SortedIdList[keyword.length() - GRAM_LENGTH + 1];
+        SortedIdList smallest = null;
+        for (int i = 0; i < gramPostings.length; i++) {
+            SortedIdList ids = postings.get(keyword.substring(i, i + GRAM_LENGTH));
+            if (ids == null) {
+                return new SortedIdList();
+            }
+
+            gramPostings[i] = ids;
+            if (smallest == null || ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+
+        SortedIdList candidates = new SortedIdList();
+        for (int i = 0; i < smallest.size(); i++) {
+            int id = smallest.get(i);
+            if (isInAll(gramPostings, id)) {
+                candidates.add(id);
+            }
+        }
+        return candidates;
+    }
+
+    private static boolean isInAll(SortedIdList[] gramPostings, int id) {
+        for (SortedIdList ids : gramPostings) {
+            if (!ids.contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,248 @@
+package aristo.task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import aristo.exception.AristoException;
+import aristo.parser.DateCache;
+
+/**
+ * Represents a list of tasks packed into primitive arrays instead of one object graph per task.
+ * <p>
+ * Each task takes one byte for its type and done flag, two ints for its dates as epoch days and
+ * two ints locating its description in a shared array of UTF-8 bytes, so a task costs little
+ * more than the bytes of its description. A task object is only created when a task is read, as a
+ * view of the packed task at that moment. Marking a view as done or not done also updates the
+ * packed task, so that the change is seen by every later read.
+ * <p>
+ * A view only sees the changes made through itself, not those made through another view of the
+ * same task. Code that changes a task should therefore show the task returned by
+ * {@link TaskList#markTask} or {@link TaskList#unmarkTask}, or read it again, rather than a view
+ * read before the change.
+ * <p>
+ * Removing a task leaves its description bytes unused in the shared array, since it is only
+ * expected while replaying a journal on top of a freshly loaded list. Every access is
+ * synchronized, so that several threads can read the list at once.
+ */
+public class PackedTasks extends AbstractList<Task> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final byte TYPE_TODO = 0;
+    private static final byte TYPE_DEADLINE = 1;
+    private static final byte TYPE_EVENT = 2;
+    private static final byte TYPE_MASK = 3;
+    private static final byte DONE_FLAG = 4;
+
+    private byte[] kinds = new byte[INITIAL_CAPACITY];
+    private int[] firstDates = new int[INITIAL_CAPACITY];
+    private int[] secondDates = new int[INITIAL_CAPACITY];
+    private int[] descriptionStarts = new int[INITIAL_CAPACITY];
+    private int[] descriptionLengths = new int[INITIAL_CAPACITY];
+    private byte[] descriptions = new byte[INITIAL_CAPACITY * 16];
+    private int descriptionsSize;
+    private int size;
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized Task get(int index) {
+        checkIndex(index, size);
+
+        String description = new String(descriptions, descriptionStarts[index], descriptionLengths[index],
+                StandardCharsets.UTF_8);
+        Task task = switch (kinds[index] & TYPE_MASK) {
+            case TYPE_DEADLINE -> new DeadlineView(this, index, description, DateCache.ofEpochDay(firstDates[index]));
+            case TYPE_EVENT -> createEventView(index, description);
+            default -> new TodoView(this, index, description);
+        };
+
+        if ((kinds[index] & DONE_FLAG) != 0) {
+            task.isDone = true;
+        }
+        return task;
+    }
+
+    private Task createEventView(int index, String description) {
+        try {
+            return new EventView(this, index, description, DateCache.ofEpochDay(firstDates[index]),
+                    DateCache.ofEpochDay(secondDates[index]));
+        } catch (AristoException e) {
+            // Dates are taken from an Event when it is added, so they are always in order.
+            throw new AssertionError(e);
+        }
+    }
+
+    @Override
+    public synchronized void add(int index, Task task) {
+        checkIndex(index, size + 1);
+        ensureCapacity();
+
+        System.arraycopy(kinds, index, kinds, index + 1, size - index);
+        System.arraycopy(firstDates, index, firstDates, index + 1, size - index);
+        System.arraycopy(secondDates, index, secondDates, index + 1, size - index);
+        System.arraycopy(descriptionStarts, index, descriptionStarts, index + 1, size - index);
+        System.arraycopy(descriptionLengths, index, descriptionLengths, index + 1, size - index);
+        size++;
+        modCount++;
+
+        byte kind;
+        if (task instanceof Deadline deadline) {
+            kind = TYPE_DEADLINE;
+            firstDates[index] = (int) deadline.getBy().toEpochDay();
+        } else if (task instanceof Event event) {
+            kind = TYPE_EVENT;
+            firstDates[index] = (int) event.getFrom().toEpochDay();
+            secondDates[index] = (int) event.getTo().toEpochDay();
+        } else {
+            kind = TYPE_TODO;
+        }
+        kinds[index] = task.isDone() ? (byte) (kind | DONE_FLAG) : kind;
+        appendDescription(index, task.getDescription());
+    }
+
+    @Override
+    public synchronized Task remove(int index) {
+        Task removed = get(index);
+        System.arraycopy(kinds, index + 1, kinds, index, size - index - 1);
+        System.arraycopy(firstDates, index + 1, firstDates, index, size - index - 1);
+        System.arraycopy(secondDates, index + 1, secondDates, index, size - index - 1);
+        System.arraycopy(descriptionStarts, index + 1, descriptionStarts, index, size - index - 1);
+        System.arraycopy(descriptionLengths, index + 1, descriptionLengths, index, size - index - 1);
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Shrinks the arrays to fit the tasks they hold, to give back the room left for growth once
+     * loading is done.
+     */
+    public synchronized void trimToSize() {
+        kinds = Arrays.copyOf(kinds, size);
+        firstDates = Arrays.copyOf(firstDates, size);
+        secondDates = Arrays.copyOf(secondDates, size);
+        descriptionStarts = Arrays.copyOf(descriptionStarts, size);
+        descriptionLengths = Arrays.copyOf(descriptionLengths, size);
+        descriptions = Arrays.copyOf(descriptions, descriptionsSize);
+    }
+
+    private synchronized void setDone(int index, boolean isDone) {
+        kinds[index] = (byte) (isDone ? kinds[index] | DONE_FLAG : kinds[index] & ~DONE_FLAG);
+    }
+
+    private void appendDescription(int index, String description) {
+        byte[] bytes = description.getBytes(StandardCharsets.UTF_8);
+        int required = descriptionsSize + bytes.length;
+        if (required > descriptions.length) {
+            descriptions = Arrays.copyOf(descriptions, Math.max(descriptions.length * 2, required));
+        }
+
+        System.arraycopy(bytes, 0, descriptions, descriptionsSize, bytes.length);
+        descriptionStarts[index] = descriptionsSize;
+        descriptionLengths[index] = bytes.length;
+        descriptionsSize += bytes.length;
+    }
+
+    private void ensureCapacity() {
+        if (size < kinds.length) {
+            return;
+        }
+
+        int capacity = Math.max(size * 2, INITIAL_CAPACITY);
+        kinds = Arrays.copyOf(kinds, capacity);
+        firstDates = Arrays.copyOf(firstDates, capacity);
+        secondDates = Arrays.copyOf(secondDates, capacity);
+        descriptionStarts = Arrays.copyOf(descriptionStarts, capacity);
+        descriptionLengths = Arrays.copyOf(descriptionLengths, capacity);
+    }
+
+    private static void checkIndex(int index, int length) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+    }
+
+    /**
+     * Represents a packed <code>Todo</code>, passing changes to its done flag back to the list.
+     */
+    private static class TodoView extends Todo {
+        private final PackedTasks tasks;
+        private final int index;
+
+        TodoView(PackedTasks tasks, int index, String description) {
+            super(description);
+            this.tasks = tasks;
+            this.index = index;
+        }
+
+        @Override
+        public void markAsDone() {
+            super.markAsDone();
+            tasks.setDone(index, true);
+        }
+
+        @Override
+        public void markAsNotDone() {
+            super.markAsNotDone();
+            tasks.setDone(index, false);
+        }
+    }
+
+    /**
+     * Represents a packed <code>Deadline</code>, passing changes to its done flag back to the list.
+     */
+    private static class DeadlineView extends Deadline {
+        private final PackedTasks tasks;
+        private final int index;
+
+        DeadlineView(PackedTasks tasks, int index, String description, LocalDate by) {
+            super(description, by);
+            this.tasks = tasks;
+            this.index = index;
+        }
+
+        @Override
+        public void markAsDone() {
+            super.markAsDone();
+            tasks.setDone(index, true);
+        }
+
+        @Override
+        public void markAsNotDone() {
+            super.markAsNotDone();
+            tasks.setDone(index, false);
+        }
+    }
+
+    /**
+     * Represents a packed <code>Event</code>, passing changes to its done flag back to the list.
+     */
+    private static class EventView extends Event {
+        private final PackedTasks tasks;
+        private final int index;
+
+        EventView(PackedTasks tasks, int index, String description, LocalDate from, LocalDate to)
+                throws AristoException {
+            super(description, from, to);
+            this.tasks = tasks;
+            this.index = index;
+        }
+
+        @Override
+        public void markAsDone() {
+            super.markAsDone();
+            tasks.setDone(index, true);
+        }
+
+        @Override
+        public void markAsNotDone() {
+            super.markAsNotDone();
+            tasks.setDone(index, false);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package aristo.task;
+
+import java.util.Arrays;
+
+/**
+ * Represents an ascending list of task ids backed by a primitive array.
+ * <p>
+ * Task ids are handed out in increasing order as tasks are added, so ids are almost
+ * always appended at the end and the list stays sorted without any extra work.
+ */
+class SortedIdList {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] ids;
+    private int size;
+
+    SortedIdList() {
+        this.ids = new int[INITIAL_CAPACITY];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int get(int position) {
+        return ids[position];
+    }
+
+    /**
+     * Adds the given id, keeping the list sorted. Adding an id that is already present has no effect.
+     */
+    void add(int id) {
+        if (size > 0 && ids[size - 1] == id) {
+            return;
+        }
+
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return;
+        }
+
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            insertAt(-position - 1, id);
+        }
+    }
+
+    /**
+     * Inserts the given id at the given position, shifting later ids back.
+     */
+    void insertAt(int position, int id) {
+        ensureCapacity();
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        ids[position] = id;
+        size++;
+    }
+
+    /**
+     * Removes the id at the given position, shifting later ids forward.
+     */
+    void removeAt(int position) {
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+    }
+
+    /**
+     * Removes the given id if it is present.
+     */
+    void remove(int id) {
+        int position = indexOf(id);
+        if (position >= 0) {
+            removeAt(position);
+        }
+    }
+
+    /**
+     * Returns the position of the given id, or a negative number if it is not present.
+     */
+    int indexOf(int id) {
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    boolean contains(int id) {
+        return indexOf(id) >= 0;
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+    }
+}
@@ -10,7 +10,7 @@ import java.time.LocalDate;
  */
 public abstract class Task {
     protected String description;
-    protected boolean isDone;
+    protected volatile boolean isDone;
 
     /**
      * Constructs a Task with the specified description.
@@ -77,4 +77,11 @@ public abstract class Task {
     public boolean isOccurringOn(LocalDate date) {
         return false;
     }
+
+    /**
+     * Returns a boolean indicating if the task occurs on any date between the given dates, inclusive.
+     */
+    public boolean isOccurringBetween(LocalDate from, LocalDate to) {
+        return false;
+    }
 }
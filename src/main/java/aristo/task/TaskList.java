@@ -2,6 +2,8 @@ package aristo.task;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import aristo.exception.AristoException;
 
@@ -9,15 +11,34 @@ import aristo.exception.AristoException;
  * Represents a list of tasks in the Aristo chatbot.
  * <p>
  * This class provides methods to add, remove, retrieve, and query tasks.
+ * <p>
+ * Every task is given an id when it joins the list. Ids only ever increase, so the
+ * ids of the tasks in list order are always sorted, and indexes can refer to tasks
+ * by id without being updated when earlier tasks are removed.
+ * <p>
+ * A TaskList can be shared between threads. Its tasks are held in an immutable
+ * {@link TaskSnapshot}, which readers fetch with a single volatile read and use without
+ * locking or copying, and which every change replaces with a new one. Changes are applied one
+ * at a time under a write lock. Only queries that go through the keyword or date index, which
+ * are updated in place, take the read lock.
+ * <p>
+ * Changes can be grouped into a transaction. While one is open, every change also appends
+ * its inverse to an undo log, so that {@link #rollbackTransaction()} can undo them in reverse
+ * order at a cost proportional to the number of changes rather than the size of the list.
  */
 public class TaskList {
-    private final ArrayList<Task> tasks;
+    private volatile TaskSnapshot snapshot;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private int nextId;
+    private volatile KeywordIndex keywordIndex;
+    private volatile DateIndex dateIndex;
+    private ArrayList<Runnable> undoLog;
 
     /**
      * Constructs a TaskList with an empty list.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this.snapshot = TaskSnapshot.empty();
     }
 
     /**
@@ -26,24 +47,73 @@ public class TaskList {
      * @param tasks the list of tasks to initialize the TaskList with
      */
     public TaskList(ArrayList<Task> tasks) {
-        this.tasks = new ArrayList<>(tasks);
+        this(TaskSnapshot.of(tasks));
+    }
+
+    private TaskList(TaskSnapshot snapshot) {
+        this.snapshot = snapshot;
+        this.nextId = snapshot.size();
+    }
+
+    /**
+     * Returns a TaskList that reads its tasks from the given list, without copying it.
+     * <p>
+     * This lets a list that produces its tasks lazily back a TaskList: tasks are only read
+     * from it when a command needs them, and the indexes used by searches are only built on
+     * the first search. The TaskList never changes the given list, and neither may anything else.
+     *
+     * @param tasks the list to read the tasks from
+     * @return a TaskList backed by the given list
+     */
+    public static TaskList backedBy(List<Task> tasks) {
+        return new TaskList(TaskSnapshot.backedBy(tasks));
     }
 
     /**
      * Returns the number of tasks in this task list.
      */
     public int size() {
-        return tasks.size();
+        return snapshot.size();
+    }
+
+    /**
+     * Returns the tasks of this task list as they are at this moment.
+     * <p>
+     * The returned list cannot be modified and does not change when this task list does, so it
+     * can be read at leisure, for example while saving, without copying it.
+     */
+    public List<Task> snapshot() {
+        return snapshot;
     }
 
     /**
      * Adds a given task to this task list.
      */
     public void addTask(Task task) {
-        this.tasks.add(task);
+        lock.writeLock().lock();
+        try {
+            int id = nextId++;
+            snapshot = snapshot.withAppended(task, id);
+            addToIndexes(id, task);
+            logUndo(() -> {
+                removeAt(snapshot.size() - 1);
+                nextId = id;
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
-    private void validateIndex(int index) throws AristoException {
+    private void addToIndexes(int id, Task task) {
+        if (keywordIndex != null) {
+            keywordIndex.add(id, task.getDescription());
+        }
+        if (dateIndex != null) {
+            dateIndex.add(id, task);
+        }
+    }
+
+    private static void validateIndex(TaskSnapshot tasks, int index) throws AristoException {
         if (index < 1 || index > tasks.size()) {
             throw new AristoException("Invalid task number! Please retry with a valid task number.\n");
         }
@@ -57,8 +127,170 @@ public class TaskList {
      * @throws AristoException If the given index is invalid.
      */
     public Task removeTask(int index) throws AristoException {
-        validateIndex(index);
-        return tasks.remove(index - 1);
+        lock.writeLock().lock();
+        try {
+            validateIndex(snapshot, index);
+            int position = index - 1;
+            int id = snapshot.getId(position);
+            Task removed = removeAt(position);
+            logUndo(() -> {
+                snapshot = snapshot.withInserted(position, removed, id);
+                addToIndexes(id, removed);
+            });
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the task at the given position. Must be called while holding the write lock.
+     */
+    private Task removeAt(int position) {
+        TaskSnapshot current = snapshot;
+        int id = current.getId(position);
+        Task removed = current.get(position);
+        snapshot = current.withRemoved(position);
+
+        if (keywordIndex != null) {
+            keywordIndex.remove(id, removed.getDescription());
+        }
+        if (dateIndex != null) {
+            dateIndex.remove(id, removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Marks the task at the given index as done.
+     *
+     * @param index 1-based index of the task to mark.
+     * @return The marked task. Show this rather than a task read before the change, which may not show it.
+     * @throws AristoException If the given index is invalid.
+     */
+    public Task markTask(int index) throws AristoException {
+        lock.writeLock().lock();
+        try {
+            Task task = getTask(index);
+            logDoneUndo(task);
+            task.markAsDone();
+            return task;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks the task at the given index as not done.
+     *
+     * @param index 1-based index of the task to unmark.
+     * @return The unmarked task. Show this rather than a task read before the change, which may not show it.
+     * @throws AristoException If the given index is invalid.
+     */
+    public Task unmarkTask(int index) throws AristoException {
+        lock.writeLock().lock();
+        try {
+            Task task = getTask(index);
+            logDoneUndo(task);
+            task.markAsNotDone();
+            return task;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void logDoneUndo(Task task) {
+        boolean wasDone = task.isDone();
+        logUndo(() -> {
+            if (wasDone) {
+                task.markAsDone();
+            } else {
+                task.markAsNotDone();
+            }
+        });
+    }
+
+    /**
+     * Appends the given inverse of a change to the undo log, if a transaction is open.
+     * Must be called while holding the write lock.
+     */
+    private void logUndo(Runnable undo) {
+        if (undoLog != null) {
+            undoLog.add(undo);
+        }
+    }
+
+    /**
+     * Starts a transaction, so that the changes made from now on can be undone together.
+     *
+     * @throws AristoException If a transaction is already open.
+     */
+    public void beginTransaction() throws AristoException {
+        lock.writeLock().lock();
+        try {
+            if (undoLog != null) {
+                throw new AristoException("A transaction is already open! Commit or roll it back first.\n");
+            }
+            undoLog = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns whether a transaction is open.
+     */
+    public boolean isInTransaction() {
+        lock.readLock().lock();
+        try {
+            return undoLog != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ends the open transaction, keeping its changes.
+     *
+     * @return The number of changes made in the transaction.
+     * @throws AristoException If no transaction is open.
+     */
+    public int commitTransaction() throws AristoException {
+        lock.writeLock().lock();
+        try {
+            int changeCount = getUndoLog().size();
+            undoLog = null;
+            return changeCount;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ends the open transaction, undoing its changes in reverse order.
+     *
+     * @return The number of changes undone.
+     * @throws AristoException If no transaction is open.
+     */
+    public int rollbackTransaction() throws AristoException {
+        lock.writeLock().lock();
+        try {
+            ArrayList<Runnable> changes = getUndoLog();
+            undoLog = null;
+            for (int i = changes.size() - 1; i >= 0; i--) {
+                changes.get(i).run();
+            }
+            return changes.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private ArrayList<Runnable> getUndoLog() throws AristoException {
+        if (undoLog == null) {
+            throw new AristoException("There is no open transaction! Start one with begin.\n");
+        }
+        return undoLog;
     }
 
     /**
@@ -69,55 +301,158 @@ public class TaskList {
      * @throws AristoException If the given index is invalid.
      */
     public Task getTask(int index) throws AristoException {
-        validateIndex(index);
-        return tasks.get(index - 1);
+        TaskSnapshot current = snapshot;
+        validateIndex(current, index);
+        return current.get(index - 1);
     }
 
     /**
      * Returns a copy of this task list.
     */
     public ArrayList<Task> asList() {
-        return new ArrayList<>(tasks);
+        return new ArrayList<>(snapshot);
     }
 
     /**
      * Returns whether this task list is empty.
      */
     public boolean isEmpty() {
-        return tasks.isEmpty();
+        return size() == 0;
     }
 
     /**
      * Returns a {@code TaskList} containing all tasks whose descriptions
      * contain the given keyword.
+     * <p>
+     * Keywords of three or more characters are answered through a trigram index, which is
+     * built on the first such search and kept up to date as tasks are added and removed.
+     * Shorter keywords fall back to checking every task.
      *
      * @param keyword The keyword to search for in task descriptions.
-     * @return A {@code TaskList} of tasks whose descriptions contain the keyword.
+     * @return A {@code TaskList} of tasks whose descriptions contain the keyword, in list order.
      * @throws AristoException If an error occurs while accessing tasks.
      */
     public TaskList find(String keyword) throws AristoException {
-        TaskList matches = new TaskList();
+        ArrayList<Task> matches = new ArrayList<>();
+
+        if (!KeywordIndex.canSearch(keyword)) {
+            for (Task task : snapshot) {
+                if (task.getDescription().contains(keyword)) {
+                    matches.add(task);
+                }
+            }
+            return new TaskList(matches);
+        }
 
-        for (int i = 1; i <= this.size(); i++) {
-            Task task = this.getTask(i);
+        KeywordIndex index = getKeywordIndex();
+        lock.readLock().lock();
+        try {
+            TaskSnapshot current = snapshot;
+            SortedIdList candidates = index.findCandidates(keyword);
+            for (int i = 0; i < candidates.size(); i++) {
+                Task task = current.get(current.indexOfId(candidates.get(i)));
 
-            if (task.getDescription().contains(keyword)) {
-                matches.addTask(task);
+                if (task.getDescription().contains(keyword)) {
+                    matches.add(task);
+                }
             }
+        } finally {
+            lock.readLock().unlock();
         }
-        return matches;
+        return new TaskList(matches);
     }
 
+    /**
+     * Returns the keyword index, building it first if this is the first search that needs it.
+     * Must not be called while holding the read lock, since building it takes the write lock.
+     */
+    private KeywordIndex getKeywordIndex() {
+        KeywordIndex index = keywordIndex;
+        if (index != null) {
+            return index;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (keywordIndex == null) {
+                TaskSnapshot current = snapshot;
+                KeywordIndex builtIndex = new KeywordIndex();
+                for (int i = 0; i < current.size(); i++) {
+                    builtIndex.add(current.getId(i), current.get(i).getDescription());
+                }
+                keywordIndex = builtIndex;
+            }
+            return keywordIndex;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a {@code TaskList} containing all tasks occurring on the given date.
+     *
+     * @param date The date to look up.
+     * @return A {@code TaskList} of deadlines due and events happening on the date, in list order.
+     * @throws AristoException If an error occurs while accessing tasks.
+     */
     public TaskList getTasksOn(LocalDate date) throws AristoException {
-        TaskList matchingTasks = new TaskList();
+        return getTasksBetween(date, date);
+    }
 
-        for (int i = 1; i <= this.size(); i++) {
-            Task task = this.getTask(i);
+    /**
+     * Returns a {@code TaskList} containing all tasks occurring on any date in the given range.
+     * <p>
+     * Tasks are looked up through a date index, which is built on the first such query and
+     * kept up to date as tasks are added and removed.
+     *
+     * @param from The first date of the range.
+     * @param to   The last date of the range, inclusive.
+     * @return A {@code TaskList} of deadlines due and events happening in the range, in list order.
+     * @throws AristoException If an error occurs while accessing tasks.
+     */
+    public TaskList getTasksBetween(LocalDate from, LocalDate to) throws AristoException {
+        ArrayList<Task> matchingTasks = new ArrayList<>();
+        DateIndex index = getDateIndex();
+
+        lock.readLock().lock();
+        try {
+            TaskSnapshot current = snapshot;
+            for (int id : index.findCandidates(from, to)) {
+                Task task = current.get(current.indexOfId(id));
+
+                if (task.isOccurringBetween(from, to)) {
+                    matchingTasks.add(task);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new TaskList(matchingTasks);
+    }
+
+    /**
+     * Returns the date index, building it first if this is the first query that needs it.
+     * Must not be called while holding the read lock, since building it takes the write lock.
+     */
+    private DateIndex getDateIndex() {
+        DateIndex index = dateIndex;
+        if (index != null) {
+            return index;
+        }
 
-            if (task.isOccurringOn(date)) {
-                matchingTasks.addTask(task);
+        lock.writeLock().lock();
+        try {
+            if (dateIndex == null) {
+                TaskSnapshot current = snapshot;
+                DateIndex builtIndex = new DateIndex();
+                for (int i = 0; i < current.size(); i++) {
+                    builtIndex.add(current.getId(i), current.get(i));
+                }
+                dateIndex = builtIndex;
             }
+            return dateIndex;
+        } finally {
+            lock.writeLock().unlock();
         }
-        return matchingTasks;
     }
 }
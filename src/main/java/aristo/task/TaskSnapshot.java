@@ -0,0 +1,158 @@
+package aristo.task;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Represents one version of the tasks in a {@link TaskList}, along with their ids.
+ * <p>
+ * A snapshot never changes once it has been published, so it can be read from any thread
+ * without locking. Changing the list produces a new snapshot instead. Appending shares the
+ * arrays of the previous snapshot when they still have room, since no older snapshot reads
+ * past its own size; removing copies them.
+ * <p>
+ * A snapshot can also take its tasks from a list that produces them lazily. Until a task has
+ * been replaced or added, it is read from that list by id, since the tasks of the list are
+ * given the ids from 0 upwards in order.
+ */
+class TaskSnapshot extends AbstractList<Task> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final Task[] tasks;
+    private final int[] ids;
+    private final int size;
+    private final List<Task> source;
+
+    private TaskSnapshot(Task[] tasks, int[] ids, int size, List<Task> source) {
+        this.tasks = tasks;
+        this.ids = ids;
+        this.size = size;
+        this.source = source;
+    }
+
+    /**
+     * Returns an empty snapshot.
+     */
+    static TaskSnapshot empty() {
+        return new TaskSnapshot(new Task[INITIAL_CAPACITY], new int[INITIAL_CAPACITY], 0, null);
+    }
+
+    /**
+     * Returns a snapshot of the given tasks, with the ids from 0 upwards.
+     */
+    static TaskSnapshot of(List<Task> tasks) {
+        int capacity = Math.max(tasks.size(), INITIAL_CAPACITY);
+        Task[] copiedTasks = tasks.toArray(new Task[capacity]);
+        return new TaskSnapshot(copiedTasks, createIdRange(tasks.size(), capacity), tasks.size(), null);
+    }
+
+    /**
+     * Returns a snapshot that reads its tasks from the given list when they are first needed,
+     * with the ids from 0 upwards. The list must not be changed afterwards.
+     */
+    static TaskSnapshot backedBy(List<Task> source) {
+        int capacity = Math.max(source.size(), INITIAL_CAPACITY);
+        return new TaskSnapshot(new Task[capacity], createIdRange(source.size(), capacity), source.size(), source);
+    }
+
+    private static int[] createIdRange(int count, int capacity) {
+        int[] ids = new int[capacity];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i;
+        }
+        return ids;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Task get(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Index " + position + " out of bounds for length " + size);
+        }
+
+        Task task = tasks[position];
+        return task != null ? task : source.get(ids[position]);
+    }
+
+    @Override
+    public Object[] toArray() {
+        if (source == null) {
+            return Arrays.copyOf(tasks, size, Object[].class);
+        }
+
+        Object[] copy = new Object[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = get(i);
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the id of the task at the given position.
+     */
+    int getId(int position) {
+        return ids[position];
+    }
+
+    /**
+     * Returns the position of the task with the given id, or a negative number if it is not present.
+     */
+    int indexOfId(int id) {
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    /**
+     * Returns a snapshot with the given task appended under the given id, which must be larger
+     * than every id in this snapshot.
+     * <p>
+     * Only the latest snapshot of a list may be appended to.
+     */
+    TaskSnapshot withAppended(Task task, int id) {
+        Task[] nextTasks = tasks;
+        int[] nextIds = ids;
+        if (size == tasks.length) {
+            nextTasks = Arrays.copyOf(tasks, size * 2);
+            nextIds = Arrays.copyOf(ids, size * 2);
+        }
+
+        nextTasks[size] = task;
+        nextIds[size] = id;
+        return new TaskSnapshot(nextTasks, nextIds, size + 1, source);
+    }
+
+    /**
+     * Returns a snapshot with the given task inserted at the given position under the given id,
+     * which must lie between the ids of the tasks around that position.
+     */
+    TaskSnapshot withInserted(int position, Task task, int id) {
+        int capacity = size == tasks.length ? size * 2 : tasks.length;
+        Task[] nextTasks = new Task[capacity];
+        int[] nextIds = new int[capacity];
+        System.arraycopy(tasks, 0, nextTasks, 0, position);
+        System.arraycopy(tasks, position, nextTasks, position + 1, size - position);
+        System.arraycopy(ids, 0, nextIds, 0, position);
+        System.arraycopy(ids, position, nextIds, position + 1, size - position);
+        nextTasks[position] = task;
+        nextIds[position] = id;
+        return new TaskSnapshot(nextTasks, nextIds, size + 1, source);
+    }
+
+    /**
+     * Returns a snapshot without the task at the given position.
+     */
+    TaskSnapshot withRemoved(int position) {
+        Task[] nextTasks = new Task[tasks.length];
+        int[] nextIds = new int[nextTasks.length];
+        System.arraycopy(tasks, 0, nextTasks, 0, position);
+        System.arraycopy(tasks, position + 1, nextTasks, position, size - position - 1);
+        System.arraycopy(ids, 0, nextIds, 0, position);
+        System.arraycopy(ids, position + 1, nextIds, position, size - position - 1);
+        return new TaskSnapshot(nextTasks, nextIds, size - 1, source);
+    }
+}
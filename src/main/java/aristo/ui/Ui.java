@@ -1,6 +1,11 @@
 package aristo.ui;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Scanner;
 
 import aristo.exception.AristoException;
@@ -18,12 +23,23 @@ import aristo.task.Todo;
  */
 public class Ui {
     private final Scanner scanner;
+    private final boolean isEchoing;
 
     /**
      * Constructs an Ui object and initializes the input scanner.
      */
     public Ui() {
+        this(true);
+    }
+
+    /**
+     * Constructs an Ui object and initializes the input scanner.
+     *
+     * @param isEchoing whether messages are printed to standard output as well as returned
+     */
+    public Ui(boolean isEchoing) {
         scanner = new Scanner(System.in);
+        this.isEchoing = isEchoing;
     }
 
     /**
@@ -33,7 +49,7 @@ public class Ui {
         String message = """
                 Hello, human! Aristo here to assist. Fire away!
                 """;
-        System.out.print(message);
+        print(message);
         return message;
     }
 
@@ -45,37 +61,79 @@ public class Ui {
         Goodbye!
         Aristo eagerly awaits your return...
         """;
-        System.out.print(message);
+        print(message);
         return message;
     }
 
     /**
-     * Prints all tasks currently stored in the task list.
+     * Prints one page of the tasks currently stored in the task list.
+     * <p>
+     * Only the tasks on the page are rendered, so the message stays the same size however long
+     * the list grows. When the list spans several pages, the page is followed by its range and a
+     * hint for the next page, so that the last lines shown say that there is more.
      *
-     * @param taskList The list of tasks to be printed.
-     * @return the formatted string representation of the task list output
-     * @throws AristoException If an invalid task index is accessed.
+     * @param taskList        The list of tasks to print a page of.
+     * @param page            The 1-based number of the page to print.
+     * @param pageSize        The number of tasks on each page.
+     * @param defaultPageSize The page size used when none is given, which the hint leaves out.
+     * @return the formatted string representation of the page
+     * @throws AristoException If the page is past the end of the list.
      */
-    public String printTaskList(TaskList taskList) throws AristoException {
-        StringBuilder output = new StringBuilder();
+    public String printTaskPage(TaskList taskList, int page, int pageSize, int defaultPageSize)
+            throws AristoException {
+        List<Task> tasks = taskList.snapshot();
+        if (tasks.isEmpty()) {
+            String message = "There are no tasks in your list.\n\n";
+            print(message);
+            return message;
+        }
 
-        if (taskList.isEmpty()) {
-            output.append("There are no tasks in your list.\n\n");
-        } else {
-            for (int taskIndex = 0; taskIndex < taskList.size(); taskIndex++) {
-                Task currentTask = taskList.getTask(taskIndex + 1);
-                output.append(taskIndex + 1)
-                        .append(". ")
-                        .append(currentTask)
-                        .append("\n");
-            }
+        int pageCount = (int) ((tasks.size() + (long) pageSize - 1) / pageSize);
+        if (page > pageCount) {
+            throw new AristoException("There is no page " + page + "! Your list has " + pageCount
+                    + " page(s) of " + pageSize + " tasks.\n");
+        }
+
+        int from = (page - 1) * pageSize;
+        int to = (int) Math.min((long) from + pageSize, tasks.size());
+        StringWriter output = new StringWriter();
+        writeTasks(output, tasks, from, to);
+        if (pageCount > 1) {
+            output.write(String.format("Showing tasks %d-%d of %d (page %d of %d).\n",
+                    from + 1, to, tasks.size(), page, pageCount));
+        }
+        if (page < pageCount) {
+            String sizeOption = pageSize == defaultPageSize ? "" : " --size " + pageSize;
+            output.write(String.format("Type list %d%s to see the next page.\n", page + 1, sizeOption));
         }
 
         String message = output.toString();
-        System.out.print(message);
+        print(message);
         return message;
     }
 
+    /**
+     * Writes the tasks between the given positions to the given writer, one numbered line at a
+     * time, without building the whole text in memory first.
+     *
+     * @param out   the writer to write the tasks to
+     * @param tasks the tasks to take the range from
+     * @param from  the position of the first task to write
+     * @param to    the position just past the last task to write
+     */
+    public static void writeTasks(Writer out, List<Task> tasks, int from, int to) {
+        try {
+            for (int position = from; position < to; position++) {
+                out.write(Integer.toString(position + 1));
+                out.write(". ");
+                out.write(tasks.get(position).toString());
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * Prints all tasks from the given {@link TaskList} that match a certain keyword.
      * <p>
@@ -97,7 +155,7 @@ public class Ui {
         }
 
         String message = output.toString();
-        System.out.print(message);
+        print(message);
         return message;
     }
 
@@ -121,7 +179,31 @@ public class Ui {
         }
 
         String message = output.toString();
-        System.out.print(message);
+        print(message);
+        return message;
+    }
+
+    /**
+     * Prints all tasks from the given {@link TaskList} that occur between two dates.
+     *
+     * @param tasks the {@link TaskList} containing the tasks in the range
+     * @param from  the first date of the range
+     * @param to    the last date of the range
+     * @return the formatted string representing the printed tasks
+     * @throws AristoException if an error occurs while accessing the tasks
+     */
+    public String printTasksBetween(TaskList tasks, LocalDate from, LocalDate to) throws AristoException {
+        StringBuilder output = new StringBuilder();
+
+        if (tasks.isEmpty()) {
+            output.append("There are no tasks scheduled from ").append(from).append(" to ").append(to).append(".\n");
+        } else {
+            output.append("Here are the tasks scheduled from ").append(from).append(" to ").append(to).append(":\n");
+            buildStringOfTasks(tasks, output);
+        }
+
+        String message = output.toString();
+        print(message);
         return message;
     }
 
@@ -143,7 +225,7 @@ public class Ui {
             """, size);
         }
 
-        System.out.print(message);
+        print(message);
         return message;
     }
 
@@ -165,7 +247,7 @@ public class Ui {
         %s
         """, task);
 
-        System.out.print(message);
+        print(message);
         return message;
     }
 
@@ -178,7 +260,7 @@ public class Ui {
         %s
         """, task);
 
-        System.out.print(message);
+        print(message);
         return message;
     }
 
@@ -191,7 +273,7 @@ public class Ui {
         %s
         """, task);
 
-        System.out.print(message);
+        print(message);
         return message;
     }
 
@@ -204,7 +286,7 @@ public class Ui {
         %s
         """, todoTask);
 
-        System.out.print(message);
+        print(message);
         return message;
     }
 
@@ -217,7 +299,7 @@ public class Ui {
         %s
         """, deadlineTask);
 
-        System.out.print(message);
+        print(message);
         return message;
     }
 
@@ -230,7 +312,70 @@ public class Ui {
         %s
         """, eventTask);
 
-        System.out.print(message);
+        print(message);
+        return message;
+    }
+
+    /**
+     * Displays how many commands a batch ran and how fast, followed by any that failed.
+     *
+     * @param batchName    the name of the file the commands were read from
+     * @param commandCount the number of commands run
+     * @param failures     a description of each command that failed
+     * @param elapsedNanos the time taken to run the commands and save the result
+     */
+    public String showBatchSummary(String batchName, int commandCount, List<String> failures, long elapsedNanos) {
+        double commandsPerSecond = elapsedNanos == 0 ? 0 : commandCount * 1e9 / elapsedNanos;
+        StringBuilder output = new StringBuilder(String.format("""
+        Ran %d commands from %s in %.0f ms (%.0f commands/s).
+        """, commandCount, batchName, elapsedNanos / 1e6, commandsPerSecond));
+
+        if (!failures.isEmpty()) {
+            output.append(failures.size()).append(" of them failed:\n");
+            for (String failure : failures) {
+                output.append(failure).append("\n");
+            }
+        }
+
+        String message = output.toString();
+        print(message);
+        return message;
+    }
+
+    /**
+     * Displays confirmation message to indicate a transaction has started.
+     */
+    public String showTransactionBegun() {
+        String message = """
+        Transaction started. Your changes will be saved together when you commit,
+        or undone if you roll back.
+        """;
+
+        print(message);
+        return message;
+    }
+
+    /**
+     * Displays confirmation message to indicate a transaction has been committed.
+     */
+    public String showTransactionCommitted(int changeCount) {
+        String message = String.format("""
+        Transaction committed. %d change(s) saved.
+        """, changeCount);
+
+        print(message);
+        return message;
+    }
+
+    /**
+     * Displays confirmation message to indicate a transaction has been rolled back.
+     */
+    public String showTransactionRolledBack(int changeCount) {
+        String message = String.format("""
+        Transaction rolled back. %d change(s) undone.
+        """, changeCount);
+
+        print(message);
         return message;
     }
 
@@ -239,7 +384,13 @@ public class Ui {
      *
      */
     public String showError(String errorMessage) {
-        System.out.println(errorMessage);
+        print(errorMessage + System.lineSeparator());
         return errorMessage;
     }
+
+    private void print(String message) {
+        if (isEchoing) {
+            System.out.print(message);
+        }
+    }
 }
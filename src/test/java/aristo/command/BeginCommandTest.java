@@ -0,0 +1,66 @@
+package aristo.command;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import aristo.exception.AristoException;
+import aristo.storage.DurabilityPolicy;
+import aristo.storage.TaskStorage;
+import aristo.task.Task;
+import aristo.task.TaskList;
+import aristo.task.Todo;
+import aristo.ui.Ui;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BeginCommandTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void execute_snapshotQueued_snapshotWrittenBeforeTransactionChanges() throws AristoException {
+        String file = tempDir.resolve("aristo.txt").toString();
+        TaskStorage storage = new TaskStorage(file, false, DurabilityPolicy.never());
+        TaskList taskList = new TaskList(storage.loadTasksFromFile());
+        storage.startBackgroundWriter();
+        CommandContext context = new CommandContext(taskList, storage, new Ui(false));
+
+        Todo todo = new Todo("one");
+        taskList.addTask(todo);
+        storage.recordAdd(taskList, todo);
+        new BeginCommand().execute(context, "");
+        new MarkCommand().execute(context, "1");
+        new RollbackCommand().execute(context, "");
+        storage.close();
+
+        Task reloaded = new TaskStorage(file).loadTasksFromFile().get(0);
+        assertEquals("one", reloaded.getDescription());
+        assertFalse(reloaded.isDone());
+    }
+
+    @Test
+    public void execute_queuedSnapshotNotWritten_transactionRefused() throws AristoException, IOException {
+        String file = tempDir.resolve("aristo.txt").toString();
+        TaskStorage storage = new TaskStorage(file, false, DurabilityPolicy.never());
+        TaskList taskList = new TaskList(storage.loadTasksFromFile());
+        storage.startBackgroundWriter();
+        CommandContext context = new CommandContext(taskList, storage, new Ui(false));
+
+        Path blockedTempFile = Files.createDirectory(tempDir.resolve("aristo.txt.tmp"));
+        Todo todo = new Todo("one");
+        taskList.addTask(todo);
+        storage.recordAdd(taskList, todo);
+        assertThrows(AristoException.class, () -> new BeginCommand().execute(context, ""));
+        assertFalse(taskList.isInTransaction());
+
+        Files.delete(blockedTempFile);
+        new BeginCommand().execute(context, "");
+        storage.close();
+    }
+}
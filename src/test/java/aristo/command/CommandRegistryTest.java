@@ -0,0 +1,119 @@
+package aristo.command;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import aristo.exception.AristoException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CommandRegistryTest {
+    private static final AtomicBoolean LAZY_COMMAND_INITIALISED = new AtomicBoolean();
+
+    @Test
+    public void get_aliasesAndPrefixes_resolvedToCommand() throws AristoException {
+        CommandRegistry registry = CommandRegistry.builder()
+                .register("delete", DeleteCommand::new, "rm")
+                .register("deadline", DeadlineCommand::new)
+                .register("list", ListCommand::new, "ls")
+                .build();
+
+        assertInstanceOf(DeleteCommand.class, registry.get("rm 1", 2));
+        assertInstanceOf(DeadlineCommand.class, registry.get("dead x /by 2025-01-01", 4));
+        assertInstanceOf(DeleteCommand.class, registry.get("del 1", 3));
+        assertInstanceOf(ListCommand.class, registry.get("lis", 3));
+
+        assertThrows(AristoException.class, () -> registry.get("l", 1));
+        assertThrows(AristoException.class, () -> registry.get("de 1", 2));
+        assertThrows(AristoException.class, () -> registry.get("lists", 5));
+        assertThrows(AristoException.class, () -> registry.get("", 0));
+    }
+
+    @Test
+    public void get_prefixSharedByTwoCommands_exceptionThrown() {
+        CommandRegistry registry = CommandRegistry.builder()
+                .register("delete", DeleteCommand::new)
+                .register("delegate", FindCommand::new)
+                .build();
+
+        AristoException e = assertThrows(AristoException.class, () -> registry.get("dele 1", 4));
+        assertTrue(e.getMessage().contains("delete") && e.getMessage().contains("delegate"));
+    }
+
+    @Test
+    public void getDefault_singleLetterPrefix_exceptionThrown() {
+        CommandRegistry registry = CommandRegistry.getDefault();
+        for (String name : new String[]{"c", "r", "e", "b", "co", "ro"}) {
+            assertThrows(AristoException.class, () -> registry.get(name, name.length()));
+        }
+    }
+
+    @Test
+    public void get_commandLookedUpTwice_createdOnceOnFirstUse() throws AristoException {
+        AtomicInteger created = new AtomicInteger();
+        CommandRegistry registry = CommandRegistry.builder()
+                .register("list", () -> {
+                    created.incrementAndGet();
+                    return new ListCommand();
+                })
+                .build();
+
+        assertEquals(0, created.get());
+        Command first = registry.get("list", 4);
+        assertSame(first, registry.get("list --page 2", 4));
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    public void getDefault_everyBuiltInCommand_created() throws AristoException {
+        CommandRegistry registry = CommandRegistry.getDefault();
+        for (String name : new String[]{"list", "mark", "unmark", "delete", "todo", "deadline", "event", "find",
+                "schedule", "batch", "begin", "commit", "rollback"}) {
+            assertEquals(name, registry.get(name, name.length()).getClass().getSimpleName()
+                    .replace("Command", "").toLowerCase());
+        }
+    }
+
+    @Test
+    public void getDefault_everyRegisteredName_resolved() throws AristoException {
+        CommandRegistry registry = CommandRegistry.getDefault();
+        assertEquals(13, registry.getNames().size());
+        for (String name : registry.getNames()) {
+            assertInstanceOf(Command.class, registry.get(name, name.length()));
+        }
+    }
+
+    @Test
+    public void registerClass_beforeFirstLookup_classNotInitialised() throws AristoException {
+        CommandRegistry registry = CommandRegistry.builder()
+                .registerClass("lazy", CommandRegistryTest.class.getName() + "$LazyCommand")
+                .build();
+
+        assertFalse(LAZY_COMMAND_INITIALISED.get());
+        assertInstanceOf(LazyCommand.class, registry.get("lazy", 4));
+        assertTrue(LAZY_COMMAND_INITIALISED.get());
+    }
+
+    @Test
+    public void register_nameTakenByAlias_exceptionThrown() {
+        CommandRegistry.Builder builder = CommandRegistry.builder().register("list", ListCommand::new, "ls");
+        assertThrows(IllegalArgumentException.class, () -> builder.register("ls", FindCommand::new));
+    }
+
+    public static class LazyCommand extends Command {
+        static {
+            LAZY_COMMAND_INITIALISED.set(true);
+        }
+
+        @Override
+        public String execute(CommandContext context, String argument) {
+            return "";
+        }
+    }
+}
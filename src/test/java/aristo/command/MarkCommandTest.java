@@ -0,0 +1,38 @@
+package aristo.command;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import aristo.exception.AristoException;
+import aristo.storage.TaskStorage;
+import aristo.task.Task;
+import aristo.task.TaskList;
+import aristo.task.Todo;
+import aristo.ui.Ui;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MarkCommandTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void execute_packedTaskList_replyShowsChange() throws AristoException, IOException {
+        TaskStorage storage = new TaskStorage(tempDir.resolve("aristo.txt").toString());
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("one"));
+        storage.saveTasksToFile(new TaskList(tasks));
+        CommandContext context = new CommandContext(storage.loadTaskListPacked(), storage, new Ui(false));
+
+        String marked = new MarkCommand().execute(context, "1");
+        assertTrue(marked.contains("[T][X] one"), marked);
+        assertTrue(context.getTaskList().getTask(1).isDone());
+
+        String unmarked = new UnmarkCommand().execute(context, "1");
+        assertTrue(unmarked.contains("[T][ ] one"), unmarked);
+    }
+}
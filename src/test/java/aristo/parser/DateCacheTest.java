@@ -0,0 +1,28 @@
+package aristo.parser;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DateCacheTest {
+
+    @Test
+    public void of_sameDayFromFieldsAndEpochDay_sameDateShared() {
+        LocalDate date = DateCache.of(2024, 2, 29);
+
+        assertEquals(LocalDate.of(2024, 2, 29), date);
+        assertSame(date, DateCache.of(2024, 2, 29));
+        assertSame(date, DateCache.ofEpochDay(LocalDate.of(2024, 2, 29).toEpochDay()));
+    }
+
+    @Test
+    public void of_invalidDate_exceptionThrown() {
+        assertThrows(DateTimeException.class, () -> DateCache.of(2023, 2, 29));
+        assertThrows(DateTimeException.class, () -> DateCache.of(2024, 13, 1));
+    }
+}
@@ -0,0 +1,36 @@
+package aristo.parser;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParsedCommandTest {
+
+    @Test
+    public void parse_eventInput_partsFound() {
+        ParsedCommand parsed = new ParsedCommand().parse("event  party /to you /from 2024-02-01  /to 2025-01-04 ");
+
+        assertEquals("event", parsed.getName());
+        assertEquals("party /to you", parsed.getTextBeforeFrom());
+        assertEquals("2024-02-01", parsed.getFrom());
+        assertEquals("2025-01-04", parsed.getTo());
+        assertFalse(parsed.hasBy());
+    }
+
+    @Test
+    public void parse_reused_previousInputForgotten() {
+        ParsedCommand parsed = new ParsedCommand();
+        parsed.parse("event party /from 2024-02-01 /to 2025-01-04");
+        parsed.parse("deadline essay /by 2024-03-01");
+
+        assertEquals("deadline", parsed.getName());
+        assertTrue(parsed.hasBy());
+        assertEquals("essay", parsed.getTextBeforeBy());
+        assertEquals("2024-03-01", parsed.getBy());
+        assertFalse(parsed.hasFrom());
+        assertFalse(parsed.hasTo());
+        assertEquals("", parsed.getTo());
+    }
+}
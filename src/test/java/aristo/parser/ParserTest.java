@@ -122,4 +122,18 @@ public class ParserTest {
         );
     }
 
+    @Test
+    public void parsePageOptions_variousOptions_pageAndSizeParsed() throws AristoException {
+        assertArrayEquals(new int[]{1, 1000}, Parser.parsePageOptions("", 1000));
+        assertArrayEquals(new int[]{3, 1000}, Parser.parsePageOptions("--page 3", 1000));
+        assertArrayEquals(new int[]{2, 50}, Parser.parsePageOptions(" --size 50  --page 2 ", 1000));
+        assertArrayEquals(new int[]{4, 1000}, Parser.parsePageOptions("4", 1000));
+        assertArrayEquals(new int[]{2, 20}, Parser.parsePageOptions("2 --size 20", 1000));
+
+        assertThrows(AristoException.class, () -> Parser.parsePageOptions("--page 0", 1000));
+        assertThrows(AristoException.class, () -> Parser.parsePageOptions("--size", 1000));
+        assertThrows(AristoException.class, () -> Parser.parsePageOptions("--pages 2", 1000));
+        assertThrows(AristoException.class, () -> Parser.parsePageOptions("2 3", 1000));
+    }
+
 }
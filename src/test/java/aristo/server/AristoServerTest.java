@@ -0,0 +1,105 @@
+package aristo.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import aristo.Aristo;
+import aristo.storage.TaskStorage;
+import aristo.ui.Ui;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AristoServerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void send_concurrentClients_allTasksAddedToSharedList() throws Exception {
+        int clientCount = 4;
+        int tasksPerClient = 25;
+
+        try (Aristo aristo = new Aristo(tempDir.resolve("aristo.txt").toString(), new Ui(false));
+                AristoServer server = new AristoServer(aristo, 0)) {
+            server.start();
+            ExecutorService executor = Executors.newFixedThreadPool(clientCount);
+            List<Future<Void>> results = new ArrayList<>();
+            for (int c = 0; c < clientCount; c++) {
+                int clientId = c;
+                results.add(executor.submit(() -> {
+                    try (AristoClient client = new AristoClient(server.getPort())) {
+                        for (int i = 0; i < tasksPerClient; i++) {
+                            assertTrue(client.send("todo client " + clientId + " task " + i).startsWith("Noted"));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> result : results) {
+                result.get();
+            }
+            executor.shutdown();
+
+            try (AristoClient client = new AristoClient(server.getPort())) {
+                String response = client.send("list");
+                assertEquals(clientCount * tasksPerClient, response.lines().count());
+                assertTrue(client.send("bye").startsWith("Goodbye!"));
+            }
+        }
+    }
+
+    @Test
+    public void send_unknownCommand_errorReturnedAndConnectionKept() throws IOException {
+        try (Aristo aristo = new Aristo(tempDir.resolve("aristo.txt").toString(), new Ui(false));
+                AristoServer server = new AristoServer(aristo, 0)) {
+            server.start();
+            try (AristoClient client = new AristoClient(server.getPort())) {
+                assertTrue(client.getGreeting().startsWith("Hello"));
+                assertTrue(client.send("fly").contains("never heard of the command fly"));
+                assertTrue(client.send("list").startsWith("There are no tasks"));
+            }
+        }
+    }
+
+    @Test
+    public void send_begin_refusedAndChangesWrittenAtOnce() throws IOException {
+        String file = tempDir.resolve("aristo.txt").toString();
+
+        try (Aristo aristo = new Aristo(file, new Ui(false));
+                AristoServer server = new AristoServer(aristo, 0)) {
+            server.start();
+            try (AristoClient client = new AristoClient(server.getPort())) {
+                assertTrue(client.send("begin").contains("not available"));
+                assertTrue(client.send("todo sleep").startsWith("Noted"));
+                assertTrue(client.send("rollback").contains("transaction"));
+            }
+        }
+
+        assertEquals(1, new TaskStorage(file).loadTasksFromFile().size());
+    }
+
+    @Test
+    public void send_batch_refusedWithoutReadingFile() throws IOException {
+        Path batchFile = tempDir.resolve("commands.txt");
+        Files.writeString(batchFile, "todo from batch\n");
+
+        try (Aristo aristo = new Aristo(tempDir.resolve("aristo.txt").toString(), new Ui(false));
+                AristoServer server = new AristoServer(aristo, 0)) {
+            server.start();
+            try (AristoClient client = new AristoClient(server.getPort())) {
+                assertTrue(client.send("batch " + batchFile).contains("cannot be run by server clients"));
+                assertTrue(client.send("batch /no/such/file").contains("cannot be run by server clients"));
+                assertTrue(client.send("list").startsWith("There are no tasks"));
+            }
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package aristo.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import aristo.exception.AristoException;
+import aristo.task.Deadline;
+import aristo.task.Event;
+import aristo.task.Task;
+import aristo.task.TaskList;
+import aristo.task.Todo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TaskStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void loadTasksFromFile_journaledChanges_changesReplayed() throws AristoException {
+        String file = tempDir.resolve("aristo.txt").toString();
+        TaskStorage storage = new TaskStorage(file);
+        TaskList taskList = new TaskList(storage.loadTasksFromFile());
+
+        Todo todo = new Todo("sleep");
+        taskList.addTask(todo);
+        storage.recordAdd(taskList, todo);
+        Deadline deadline = new Deadline("homework", "2027-09-24");
+        taskList.addTask(deadline);
+        storage.recordAdd(taskList, deadline);
+        taskList.getTask(2).markAsDone();
+        storage.recordMark(taskList, 2);
+        taskList.removeTask(1);
+        storage.recordDelete(taskList, 1);
+
+        TaskList reloaded = new TaskList(new TaskStorage(file).loadTasksFromFile());
+
+        assertEquals(1, reloaded.size());
+        assertEquals(deadline.toFileString(), reloaded.getTask(1).toFileString());
+        assertTrue(reloaded.getTask(1).isDone());
+    }
+
+    @Test
+    public void loadTasksFromFile_dataFileEditedAfterJournaledChange_journalSetAside()
+            throws AristoException, IOException {
+        Path file = tempDir.resolve("aristo.txt");
+        writeJournaledMark(file);
+        Files.writeString(file, TaskJournal.generationHeader(1) + "\nT | 0 | other\nT | 0 | unrelated\n");
+
+        ArrayList<Task> reloaded = new TaskStorage(file.toString()).loadTasksFromFile();
+
+        assertEquals(2, reloaded.size());
+        assertFalse(reloaded.get(1).isDone());
+        assertTrue(hasRejectedJournal());
+    }
+
+    @Test
+    public void loadTasksFromFile_generationHeaderRemoved_journalSetAside() throws AristoException, IOException {
+        Path file = tempDir.resolve("aristo.txt");
+        writeJournaledMark(file);
+        Files.writeString(file, "T | 0 | one\nT | 0 | two\n");
+
+        ArrayList<Task> reloaded = new TaskStorage(file.toString()).loadTasksFromFile();
+
+        assertFalse(reloaded.get(1).isDone());
+        assertTrue(hasRejectedJournal());
+    }
+
+    @Test
+    public void loadTaskListMapped_journalFromFullLoad_changesReplayedOrSetAside() throws AristoException, IOException {
+        Path file = tempDir.resolve("aristo.txt");
+        writeJournaledMark(file);
+        assertTrue(new TaskStorage(file.toString()).loadTaskListMapped().getTask(2).isDone());
+
+        Files.writeString(file, TaskJournal.generationHeader(1) + "\nT | 0 | other\nT | 0 | unrelated\n");
+        assertFalse(new TaskStorage(file.toString()).loadTaskListMapped().getTask(2).isDone());
+        assertTrue(hasRejectedJournal());
+    }
+
+    private static void writeJournaledMark(Path file) throws AristoException {
+        TaskStorage storage = new TaskStorage(file.toString());
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("one"));
+        tasks.add(new Todo("two"));
+        storage.saveTasksToFile(new TaskList(tasks));
+        TaskList taskList = new TaskList(storage.loadTasksFromFile());
+        taskList.markTask(2);
+        storage.recordMark(taskList, 2);
+        storage.flush();
+    }
+
+    private boolean hasRejectedJournal() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return !Files.exists(tempDir.resolve("aristo.txt.journal"))
+                    && files.anyMatch(path -> path.getFileName().toString().startsWith("aristo.txt.journal.rejected-"));
+        }
+    }
+
+    @Test
+    public void loadTaskListPacked_savedAndJournaledTasks_sameAsFullLoad() throws AristoException, IOException {
+        String file = tempDir.resolve("aristo.txt").toString();
+        TaskStorage storage = new TaskStorage(file);
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("café crème"));
+        tasks.add(new Deadline("homework", "2027-09-24"));
+        tasks.add(new Event("camp", "2027-10-01", "2027-10-03"));
+        tasks.get(1).markAsDone();
+        storage.saveTasksToFile(new TaskList(tasks));
+        TaskList taskList = storage.loadTaskList();
+        Todo todo = new Todo("sleep");
+        taskList.addTask(todo);
+        storage.recordAdd(taskList, todo);
+        storage.flush();
+
+        TaskList packed = new TaskStorage(file).loadTaskListPacked();
+        ArrayList<Task> loaded = new TaskStorage(file).loadTasksFromFile();
+        assertEquals(loaded.size(), packed.size());
+        for (int i = 0; i < loaded.size(); i++) {
+            assertEquals(loaded.get(i).toFileString(), packed.getTask(i + 1).toFileString());
+        }
+
+        packed.markTask(3);
+        packed.unmarkTask(2);
+        assertTrue(packed.getTask(3).isDone());
+        assertFalse(packed.getTask(2).isDone());
+    }
+
+    @Test
+    public void loadTaskListMapped_malformedLines_sameAsFullLoad() throws AristoException, IOException {
+        Path file = tempDir.resolve("aristo.txt");
+        Files.writeString(file, String.join("\n", TaskJournal.generationHeader(1), "T | 0 | one", "T | 0",
+                "X | 0 | weird", "T | 2 | bad done flag", "E | 0 | camp | 2027-10-03 | 2027-10-01",
+                "D | 1 | homework | 2027-09-24", "") + "\r\n");
+
+        ArrayList<Task> loaded = new TaskStorage(file.toString()).loadTasksFromFile();
+        TaskStorage storage = new TaskStorage(file.toString());
+        TaskList mapped = storage.loadTaskListMapped();
+        assertEquals(2, loaded.size());
+        assertEquals(loaded.size(), mapped.size());
+        for (int i = 0; i < loaded.size(); i++) {
+            assertEquals(loaded.get(i).toFileString(), mapped.getTask(i + 1).toFileString());
+        }
+
+        mapped.addTask(new Todo("sleep"));
+        storage.saveTasksToFile(mapped);
+        assertEquals(3, new TaskStorage(file.toString()).loadTasksFromFile().size());
+    }
+
+    @Test
+    public void recordAdd_thresholdReached_journalCompacted() throws AristoException {
+        String file = tempDir.resolve("aristo.txt").toString();
+        TaskStorage storage = new TaskStorage(file);
+        TaskList taskList = new TaskList(storage.loadTasksFromFile());
+
+        for (int i = 0; i < TaskStorage.COMPACTION_THRESHOLD; i++) {
+            Todo todo = new Todo("task " + i);
+            taskList.addTask(todo);
+            storage.recordAdd(taskList, todo);
+        }
+
+        assertFalse(Files.exists(tempDir.resolve("aristo.txt.journal")));
+        assertEquals(TaskStorage.COMPACTION_THRESHOLD, new TaskStorage(file).loadTasksFromFile().size());
+    }
+
+    @Test
+    public void hasChangedExternally_ownWrites_noChangeReported() {
+        String file = tempDir.resolve("aristo.txt").toString();
+        TaskStorage storage = new TaskStorage(file);
+        TaskList taskList = new TaskList(storage.loadTasksFromFile());
+
+        Todo todo = new Todo("sleep");
+        taskList.addTask(todo);
+        storage.recordAdd(taskList, todo);
+
+        assertFalse(storage.hasChangedExternally());
+    }
+
+    @Test
+    public void exportTasks_binaryThenText_tasksPreserved() throws AristoException, IOException {
+        TaskStorage storage = new TaskStorage(tempDir.resolve("aristo.bin").toString());
+        TaskList taskList = new TaskList(storage.loadTasksFromFile());
+        taskList.addTask(new Todo("sleep | early"));
+        taskList.addTask(new Deadline("homework", "2027-09-24"));
+        taskList.addTask(new Event("caf\u00e9 trip", "2023-01-01", "2023-01-02"));
+        taskList.getTask(3).markAsDone();
+        storage.saveTasksToFile(taskList);
+
+        ArrayList<Task> binaryTasks = new TaskStorage(tempDir.resolve("aristo.bin").toString()).loadTasksFromFile();
+        storage.exportTasks(new TaskList(binaryTasks), tempDir.resolve("exported.txt"));
+        ArrayList<Task> textTasks = TaskStorage.importTasks(tempDir.resolve("exported.txt"));
+
+        assertEquals(3, binaryTasks.size());
+        assertEquals(taskList.getTask(1).getDescription(), binaryTasks.get(0).getDescription());
+        for (int i = 1; i < 3; i++) {
+            assertEquals(taskList.getTask(i + 1).toFileString(), binaryTasks.get(i).toFileString());
+            assertEquals(taskList.getTask(i + 1).toFileString(), textTasks.get(i).toFileString());
+        }
+    }
+
+    @Test
+    public void decode_truncatedBinaryFile_completeTasksKept() throws AristoException, IOException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("one"));
+        tasks.add(new Deadline("two", "2027-09-24"));
+        tasks.add(new Todo("three"));
+        byte[] data = new BinaryTaskFormat().encode(tasks, 1);
+        Path file = tempDir.resolve("aristo.bin");
+        Files.write(file, Arrays.copyOf(data, data.length - 2));
+
+        assertEquals(2, new BinaryTaskFormat().decode(Files.readAllBytes(file)).size());
+        TaskList packed = new TaskStorage(file.toString()).loadTaskListPacked();
+        assertEquals(2, packed.size());
+        assertEquals(tasks.get(1).toFileString(), packed.getTask(2).toFileString());
+    }
+
+    @Test
+    public void decode_negativeDescriptionLength_corruptedTaskSkipped() throws AristoException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("one"));
+        tasks.add(new Todo("two"));
+        BinaryTaskFormat format = new BinaryTaskFormat();
+        byte[] data = format.encode(tasks, 1);
+        int secondRecord = 4 * Integer.BYTES + 1 + Integer.BYTES + "one".length();
+        ByteBuffer.wrap(data).putInt(secondRecord + 1, -1);
+
+        ArrayList<Task> loaded = format.decode(data);
+        assertEquals(1, loaded.size());
+        assertEquals("one", loaded.get(0).getDescription());
+        assertEquals(1, format.findRecordOffsets(ByteBuffer.wrap(data)).length);
+        assertThrows(AristoException.class, () -> format.decodeRecord(ByteBuffer.wrap(data), secondRecord));
+    }
+
+    @Test
+    public void decode_fileSplitIntoChunks_orderPreservedAndCorruptedLinesSkipped() {
+        StringBuilder content = new StringBuilder(TaskJournal.generationHeader(1)).append("\n");
+        int taskCount = 0;
+        while (content.length() < 2 * TextTaskFormat.PARALLEL_THRESHOLD_BYTES) {
+            content.append("T | 0 | task ").append(taskCount++).append("\n");
+            if (taskCount % 10000 == 0) {
+                content.append("T | 2 | corrupted\n");
+            }
+        }
+
+        ArrayList<Task> tasks = new TextTaskFormat().decode(content.toString().getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(taskCount, tasks.size());
+        for (int i = 0; i < taskCount; i++) {
+            assertEquals("task " + i, tasks.get(i).getDescription());
+        }
+    }
+
+    @Test
+    public void recordAdd_backgroundWriter_allChangesWrittenByClose() throws AristoException {
+        String file = tempDir.resolve("aristo.txt").toString();
+        TaskStorage storage = new TaskStorage(file, true, DurabilityPolicy.never());
+        TaskList taskList = new TaskList(storage.loadTasksFromFile());
+        storage.startBackgroundWriter();
+
+        int taskCount = 2 * TaskStorage.COMPACTION_THRESHOLD + 50;
+        for (int i = 0; i < taskCount; i++) {
+            Todo todo = new Todo("task " + i);
+            taskList.addTask(todo);
+            storage.recordAdd(taskList, todo);
+        }
+        storage.flush();
+        assertFalse(storage.hasChangedExternally());
+
+        taskList.markTask(2);
+        storage.recordMark(taskList, 2);
+        taskList.removeTask(1);
+        storage.recordDelete(taskList, 1);
+        storage.close();
+
+        ArrayList<Task> reloaded = new TaskStorage(file).loadTasksFromFile();
+        assertEquals(taskCount - 1, reloaded.size());
+        assertEquals("task 1", reloaded.get(0).getDescription());
+        assertTrue(reloaded.get(0).isDone());
+        assertEquals("task " + (taskCount - 1), reloaded.get(taskCount - 2).getDescription());
+    }
+
+    @Test
+    public void recordAdd_dataFileWriteFailed_changesNotJournaledOnOldFile() throws AristoException, IOException {
+        String file = tempDir.resolve("aristo.txt").toString();
+        TaskStorage storage = new TaskStorage(file);
+        TaskList taskList = new TaskList(storage.loadTasksFromFile());
+        taskList.addTask(new Todo("one"));
+        storage.saveTasksToFile(taskList);
+
+        Path blockedTempFile = Files.createDirectory(tempDir.resolve("aristo.txt.tmp"));
+        taskList.addTask(new Todo("two"));
+        storage.saveTasksToFile(taskList);
+        Todo todo = new Todo("three");
+        taskList.addTask(todo);
+        storage.recordAdd(taskList, todo);
+        assertFalse(storage.flush());
+
+        Files.delete(blockedTempFile);
+        taskList.markTask(1);
+        storage.recordMark(taskList, 1);
+        assertTrue(storage.flush());
+
+        ArrayList<Task> reloaded = new TaskStorage(file).loadTasksFromFile();
+        assertEquals(3, reloaded.size());
+        assertTrue(reloaded.get(0).isDone());
+    }
+
+    @Test
+    public void flush_backgroundWriteFailed_failureReportedAndWriteRetried() throws AristoException, IOException {
+        String file = tempDir.resolve("aristo.txt").toString();
+        TaskStorage storage = new TaskStorage(file, false, DurabilityPolicy.never());
+        TaskList taskList = new TaskList(storage.loadTasksFromFile());
+        storage.startBackgroundWriter();
+
+        Path blockedTempFile = Files.createDirectory(tempDir.resolve("aristo.txt.tmp"));
+        Todo todo = new Todo("one");
+        taskList.addTask(todo);
+        storage.recordAdd(taskList, todo);
+        assertFalse(storage.flush());
+
+        Files.delete(blockedTempFile);
+        todo = new Todo("two");
+        taskList.addTask(todo);
+        storage.recordAdd(taskList, todo);
+        assertTrue(storage.flush());
+        storage.close();
+
+        assertEquals(2, new TaskStorage(file).loadTasksFromFile().size());
+    }
+
+    @Test
+    public void writeDeferred_changesHeldBack_savedOnce() throws AristoException {
+        String file = tempDir.resolve("aristo.txt").toString();
+        TaskStorage storage = new TaskStorage(file);
+        TaskList taskList = new TaskList(storage.loadTasksFromFile());
+
+        storage.deferWrites();
+        for (int i = 0; i < 3; i++) {
+            Todo todo = new Todo("task " + i);
+            taskList.addTask(todo);
+            storage.recordAdd(taskList, todo);
+        }
+        taskList.markTask(1);
+        storage.recordMark(taskList, 1);
+        assertEquals(0, new TaskStorage(file).loadTasksFromFile().size());
+
+        assertEquals(4, storage.writeDeferred(taskList));
+        assertFalse(Files.exists(tempDir.resolve("aristo.txt.journal")));
+        ArrayList<Task> reloaded = new TaskStorage(file).loadTasksFromFile();
+        assertEquals(3, reloaded.size());
+        assertTrue(reloaded.get(0).isDone());
+    }
+}
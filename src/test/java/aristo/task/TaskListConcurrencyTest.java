@@ -0,0 +1,134 @@
+package aristo.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+public class TaskListConcurrencyTest {
+    private static final int THREAD_COUNT = 8;
+    private static final LocalDate DATE = LocalDate.of(2025, 6, 1);
+
+    @Test
+    public void addTask_concurrentWriters_noTaskLost() throws Exception {
+        TaskList taskList = new TaskList();
+        int tasksPerThread = 1000;
+
+        List<Callable<Void>> writers = new ArrayList<>();
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            int writerId = t;
+            writers.add(() -> {
+                for (int i = 0; i < tasksPerThread; i++) {
+                    taskList.addTask(new Todo("writer " + writerId + " task " + i));
+                }
+                return null;
+            });
+        }
+        runTogether(writers);
+
+        assertEquals(THREAD_COUNT * tasksPerThread, taskList.size());
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            TaskList written = taskList.find("writer " + t + " task ");
+            assertEquals(tasksPerThread, written.size());
+            for (int i = 0; i < tasksPerThread; i++) {
+                assertEquals("writer " + t + " task " + i, written.getTask(i + 1).getDescription());
+            }
+        }
+    }
+
+    @Test
+    public void find_concurrentWithAddAndRemove_consistentResults() throws Exception {
+        TaskList taskList = new TaskList();
+        int keptCount = 500;
+        for (int i = 0; i < keptCount; i++) {
+            taskList.addTask(new Deadline("kept " + i, DATE));
+        }
+
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        List<Callable<Void>> workers = new ArrayList<>();
+        workers.add(() -> {
+            try {
+                for (int i = 0; i < 5000; i++) {
+                    taskList.addTask(new Deadline("churned " + i, DATE.plusDays(1)));
+                    taskList.removeTask(taskList.size());
+                }
+            } finally {
+                isWriting.set(false);
+            }
+            return null;
+        });
+        for (int t = 1; t < THREAD_COUNT; t++) {
+            workers.add(() -> {
+                while (isWriting.get()) {
+                    assertEquals(keptCount, taskList.find("kept").size());
+                    assertEquals(keptCount, taskList.getTasksOn(DATE).size());
+                    assertTrue(taskList.find("churned").size() <= 1);
+                    assertTrue(taskList.asList().size() >= keptCount);
+                }
+                return null;
+            });
+        }
+        runTogether(workers);
+
+        assertEquals(keptCount, taskList.size());
+    }
+
+    @Test
+    public void markTask_concurrentWithReaders_everyTaskMarkedOnce() throws Exception {
+        TaskList taskList = new TaskList();
+        int taskCount = 2000;
+        for (int i = 0; i < taskCount; i++) {
+            taskList.addTask(new Todo("task " + i));
+        }
+
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            int offset = t;
+            workers.add(() -> {
+                for (int index = 1 + offset; index <= taskCount; index += THREAD_COUNT) {
+                    taskList.markTask(index);
+                    assertTrue(taskList.getTask(index).isDone());
+                }
+                return null;
+            });
+        }
+        runTogether(workers);
+
+        for (Task task : taskList.asList()) {
+            assertTrue(task.isDone());
+        }
+    }
+
+    /**
+     * Starts all the given tasks at the same moment and rethrows the first failure.
+     */
+    private static void runTogether(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch startGate = new CountDownLatch(1);
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                results.add(executor.submit(() -> {
+                    startGate.await();
+                    return task.call();
+                }));
+            }
+            startGate.countDown();
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -5,11 +5,14 @@ import aristo.parser.Parser;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.List;
 
 public class TaskListTest {
 
@@ -104,4 +107,137 @@ public class TaskListTest {
         );
     }
 
+    @Test
+    public void find_indexedAndShortKeywords_sameResultsAsContains() throws AristoException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        String[] words = {"read", "book", "homework", "math", "buy", "milk", "party"};
+        for (int i = 0; i < 300; i++) {
+            tasks.add(new Todo(words[i % words.length] + " " + words[(i * 3) % words.length] + " " + i));
+        }
+
+        TaskList taskList = new TaskList(tasks);
+        for (int i = 0; i < 50; i++) {
+            tasks.remove(i * 2);
+            taskList.removeTask(i * 2 + 1);
+            Todo todo = new Todo("new " + words[i % words.length] + " " + i);
+            tasks.add(todo);
+            taskList.addTask(todo);
+        }
+
+        String[] keywords = {"mil", "ok h", "homework math", "k", "12", "party 1", "new read", "zzz", "ath "};
+        for (String keyword : keywords) {
+            ArrayList<Task> expected = new ArrayList<>();
+            for (Task task : tasks) {
+                if (task.getDescription().contains(keyword)) {
+                    expected.add(task);
+                }
+            }
+            assertEquals(expected, taskList.find(keyword).asList(), "keyword: " + keyword);
+        }
+    }
+
+    @Test
+    public void find_removedTask_notReturned() throws AristoException {
+        TaskList taskList = new TaskList();
+        Todo book = new Todo("read book");
+        taskList.addTask(book);
+        taskList.addTask(new Todo("return book"));
+
+        assertEquals(2, taskList.find("book").size());
+
+        taskList.removeTask(2);
+
+        assertEquals(1, taskList.find("book").size());
+        assertEquals(book, taskList.find("book").getTask(1));
+    }
+
+    @Test
+    public void getTasksOn_mixedTasks_onlyTasksOnDateReturned() throws AristoException {
+        TaskList taskList = new TaskList();
+        Deadline quiz = new Deadline("quiz", "2026-03-23");
+        Event exams = new Event("exams", "2026-03-20", "2026-03-24");
+        Event longTrip = new Event("trip", "2025-01-01", "2026-12-31");
+        taskList.addTask(new Todo("sleep"));
+        taskList.addTask(exams);
+        taskList.addTask(new Deadline("essay", "2026-03-25"));
+        taskList.addTask(quiz);
+        taskList.addTask(longTrip);
+        taskList.addTask(new Event("camp", "2026-03-24", "2026-03-26"));
+
+        ArrayList<Task> expected = new ArrayList<>();
+        expected.add(exams);
+        expected.add(quiz);
+        expected.add(longTrip);
+        assertEquals(expected, taskList.getTasksOn(LocalDate.parse("2026-03-23")).asList());
+
+        taskList.removeTask(2);
+        expected.remove(exams);
+        assertEquals(expected, taskList.getTasksOn(LocalDate.parse("2026-03-23")).asList());
+    }
+
+    @Test
+    public void getTasksBetween_range_overlappingTasksReturned() throws AristoException {
+        TaskList taskList = new TaskList();
+        Event before = new Event("before", "2026-01-01", "2026-01-31");
+        Event overlapping = new Event("overlapping", "2026-01-25", "2026-02-05");
+        Deadline inside = new Deadline("inside", "2026-02-10");
+        Deadline after = new Deadline("after", "2026-03-01");
+        taskList.addTask(before);
+        taskList.addTask(overlapping);
+        taskList.addTask(inside);
+        taskList.addTask(after);
+
+        TaskList matches = taskList.getTasksBetween(LocalDate.parse("2026-02-01"), LocalDate.parse("2026-02-28"));
+
+        assertEquals(2, matches.size());
+        assertEquals(overlapping, matches.getTask(1));
+        assertEquals(inside, matches.getTask(2));
+    }
+
+    @Test
+    public void snapshot_listChangedAfterwards_snapshotUnchanged() throws AristoException {
+        TaskList taskList = new TaskList();
+        Todo sleep = new Todo("sleep");
+        Todo eat = new Todo("eat");
+        taskList.addTask(sleep);
+        taskList.addTask(eat);
+
+        List<Task> snapshot = taskList.snapshot();
+        taskList.addTask(new Todo("code"));
+        taskList.removeTask(1);
+
+        assertEquals(List.of(sleep, eat), snapshot);
+        assertEquals(2, taskList.size());
+        assertEquals(eat, taskList.getTask(1));
+    }
+
+    @Test
+    public void rollbackTransaction_mixedChanges_listAndIndexesRestored() throws AristoException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("read book"));
+        tasks.add(new Deadline("return book", "2026-03-10"));
+        tasks.add(new Todo("buy milk"));
+        TaskList taskList = new TaskList(tasks);
+        List<Task> before = List.copyOf(taskList.snapshot());
+        assertEquals(2, taskList.find("book").size());
+        assertEquals(1, taskList.getTasksOn(LocalDate.parse("2026-03-10")).size());
+
+        taskList.beginTransaction();
+        taskList.markTask(1);
+        taskList.addTask(new Todo("book club"));
+        taskList.removeTask(2);
+        taskList.removeTask(1);
+        taskList.addTask(new Deadline("renew book", "2026-03-10"));
+        assertEquals(5, taskList.rollbackTransaction());
+
+        assertEquals(before, taskList.snapshot());
+        assertFalse(taskList.getTask(1).isDone());
+        assertEquals(2, taskList.find("book").size());
+        assertEquals(1, taskList.getTasksOn(LocalDate.parse("2026-03-10")).size());
+        assertThrows(AristoException.class, taskList::commitTransaction);
+
+        taskList.addTask(new Todo("book fair"));
+        assertEquals(3, taskList.find("book").size());
+        assertEquals("book fair", taskList.getTask(4).getDescription());
+    }
 }